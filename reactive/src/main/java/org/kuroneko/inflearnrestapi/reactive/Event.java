@@ -0,0 +1,57 @@
+package org.kuroneko.inflearnrestapi.reactive;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.time.LocalDateTime;
+
+/*
+    servlet 애플리케이션의 Event 엔티티가 만드는 event 테이블을 읽는 모델
+    servlet 애플리케이션의 응답과 같은 JSON이 나오도록 필드 순서와 이름, collection rel을 맞춘다.
+    eventStatus는 enum을 공유하지 않으므로 문자열로 읽는다.
+ */
+@Table("event")
+@Relation(collectionRelation = "eventList")
+@Builder @AllArgsConstructor @NoArgsConstructor @Getter
+public class Event {
+
+    @Id
+    private Integer id;
+    private String name;
+    private String description;
+    private LocalDateTime beginEnrollmentDateTime;
+    private LocalDateTime closeEnrollmentDateTime;
+    private LocalDateTime beginEventDateTime;
+    private LocalDateTime endEventDateTime;
+    private String location;
+    private int basePrice;
+    private int maxPrice;
+    private int limitOfEnrollment;
+    private boolean offline;
+    private boolean free;
+    @JsonIgnore
+    private Integer managerId;
+    private String eventStatus;
+    @JsonIgnore
+    private Long version;
+
+    //AccountSerializer와 같이 {"id": ...} 로 쓴다.
+    public Manager getManager() {
+        return this.managerId == null ? null : new Manager(this.managerId);
+    }
+
+    @Getter
+    public static class Manager {
+        private final Integer id;
+
+        private Manager(Integer id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package org.kuroneko.inflearnrestapi.reactive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.query.Criteria;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/*
+    servlet 애플리케이션의 GET /api/events, GET /api/events/{id} 와 같은 HAL 응답을 한다.
+    목록 조회는 servlet 애플리케이션과 같은 필터 조건(EventSearchCondition)과 after, before 커서 조회를 지원한다.
+    인증하지 않은 요청과 같은 응답이므로 create-event, event-update 링크는 없다.
+ */
+@Controller
+@RequestMapping(value = "/api/events", produces = MediaTypes.HAL_JSON_VALUE)
+public class EventController {
+
+    private static final String PROFILE_PREFIX = "/docs/index.html#";
+    private static final int MAX_PAGE_SIZE = 2000;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @GetMapping
+    public Mono<ResponseEntity<?>> queryEvents(Pageable pageable,
+                                               EventSearchCondition condition,
+                                               ServerHttpRequest request,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Criteria criteria = condition.toCriteria();
+        return Mono.zip(this.eventRepository.findAll(criteria, pageable).collectList(), this.eventRepository.count(criteria))
+                .map(result -> {
+                    List<Event> events = result.getT1();
+                    long totalElements = result.getT2();
+                    String eTag = EventETags.of(events, totalElements);
+                    if (EventETags.matches(ifNoneMatch, eTag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+                    }
+
+                    String base = base(request);
+                    List<EntityModel<Event>> content = events.stream()
+                            .map(event -> EntityModel.of(event, self(base, event)))
+                            .collect(Collectors.toList());
+                    PagedModel.PageMetadata metadata = new PagedModel.PageMetadata(
+                            pageable.getPageSize(), pageable.getPageNumber(), totalElements);
+                    PagedModel<EntityModel<Event>> model = PagedModel.of(content, metadata, pageLinks(request, metadata));
+                    model.add(profile("resources-events-list"));
+                    return ResponseEntity.ok().eTag(eTag).body(model);
+                });
+    }
+
+    //after 값이 비어있으면 첫 페이지부터 조회한다.
+    @GetMapping(params = {"after", "!before"})
+    public Mono<ResponseEntity<?>> queryEventsAfter(@RequestParam String after,
+                                                    @RequestParam(defaultValue = "20") int size,
+                                                    EventSearchCondition condition,
+                                                    ServerHttpRequest request) {
+        return queryEventsByCursor(after, true, size, condition, request);
+    }
+
+    @GetMapping(params = {"before", "!after"})
+    public Mono<ResponseEntity<?>> queryEventsBefore(@RequestParam String before,
+                                                     @RequestParam(defaultValue = "20") int size,
+                                                     EventSearchCondition condition,
+                                                     ServerHttpRequest request) {
+        return queryEventsByCursor(before, false, size, condition, request);
+    }
+
+    private Mono<ResponseEntity<?>> queryEventsByCursor(String position, boolean forward, int size,
+                                                        EventSearchCondition condition, ServerHttpRequest request) {
+        EventCursor cursor;
+        try {
+            cursor = position.isBlank() ? null : EventCursor.decode(position);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        if (!forward && cursor == null) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Criteria criteria = condition.toCriteria();
+        if (cursor != null) {
+            criteria = criteria.and(EventCursor.seek(cursor, forward));
+        }
+        return this.eventRepository.findSlice(criteria, EventCursor.sort(forward), limit + 1)
+                .collectList()
+                .map(events -> {
+                    CollectionModel<EntityModel<Event>> model = cursorModel(request, events, cursor, forward, limit);
+                    model.add(profile("resources-events-list-cursor"));
+                    return ResponseEntity.ok(model);
+                });
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<?>> queryEvent(@PathVariable Integer id,
+                                              ServerHttpRequest request,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return this.eventRepository.findById(id)
+                .<ResponseEntity<?>>map(event -> {
+                    String eTag = EventETags.of(event);
+                    if (EventETags.matches(ifNoneMatch, eTag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+                    }
+                    EntityModel<Event> model = EntityModel.of(event, self(base(request), event));
+                    model.add(profile("resources-events-get"));
+                    return ResponseEntity.ok().eTag(eTag).body(model);
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    //servlet 애플리케이션의 EventCursorAssembler와 같이 limit + 1개로 다음 페이지가 있는지 판단한다.
+    private CollectionModel<EntityModel<Event>> cursorModel(ServerHttpRequest request, List<Event> events,
+                                                           EventCursor cursor, boolean forward, int limit) {
+        boolean hasMore = events.size() > limit;
+        List<Event> content = new ArrayList<>(events.subList(0, Math.min(limit, events.size())));
+        if (!forward) {
+            Collections.reverse(content);
+        }
+
+        String base = base(request);
+        CollectionModel<EntityModel<Event>> model = CollectionModel.of(content.stream()
+                .map(event -> EntityModel.of(event, self(base, event)))
+                .collect(Collectors.toList()));
+
+        String position = cursor == null ? "" : cursor.encode();
+        model.add(cursorLink(request, forward ? "after" : "before", position, limit, IanaLinkRelations.SELF));
+
+        if (content.isEmpty()) {
+            return model;
+        }
+        boolean hasNext = forward ? hasMore : cursor != null;
+        boolean hasPrev = forward ? cursor != null : hasMore;
+        if (hasNext) {
+            EventCursor last = EventCursor.of(content.get(content.size() - 1));
+            model.add(cursorLink(request, "after", last.encode(), limit, IanaLinkRelations.NEXT));
+        }
+        if (hasPrev) {
+            EventCursor first = EventCursor.of(content.get(0));
+            model.add(cursorLink(request, "before", first.encode(), limit, IanaLinkRelations.PREV));
+        }
+        return model;
+    }
+
+    //필터 조건 같은 나머지 파라미터는 그대로 유지한다.
+    private Link cursorLink(ServerHttpRequest request, String direction, String position, int limit, LinkRelation rel) {
+        String href = UriComponentsBuilder.fromHttpRequest(request)
+                .replaceQueryParam("after")
+                .replaceQueryParam("before")
+                .replaceQueryParam(direction, position)
+                .replaceQueryParam("size", limit)
+                .build().toUriString();
+        return new Link(href).withRel(rel);
+    }
+
+    //PagedResourcesAssembler와 같이 first, prev, self, next, last 링크를 만든다.
+    private List<Link> pageLinks(ServerHttpRequest request, PagedModel.PageMetadata metadata) {
+        long page = metadata.getNumber();
+        long lastPage = Math.max(metadata.getTotalPages() - 1, 0);
+        List<Link> links = new ArrayList<>();
+        if (metadata.getTotalPages() > 1 || page > 0) {
+            links.add(pageLink(request, 0, metadata, IanaLinkRelations.FIRST.value()));
+        }
+        if (page > 0) {
+            links.add(pageLink(request, page - 1, metadata, IanaLinkRelations.PREV.value()));
+        }
+        links.add(new Link(request.getURI().toString()).withSelfRel());
+        if (page < lastPage) {
+            links.add(pageLink(request, page + 1, metadata, IanaLinkRelations.NEXT.value()));
+        }
+        if (metadata.getTotalPages() > 1 || page > 0) {
+            links.add(pageLink(request, lastPage, metadata, IanaLinkRelations.LAST.value()));
+        }
+        return links;
+    }
+
+    private Link pageLink(ServerHttpRequest request, long page, PagedModel.PageMetadata metadata, String rel) {
+        String href = UriComponentsBuilder.fromHttpRequest(request)
+                .replaceQueryParam("page", page)
+                .replaceQueryParam("size", metadata.getSize())
+                .build().toUriString();
+        return new Link(href, rel);
+    }
+
+    private String base(ServerHttpRequest request) {
+        return UriComponentsBuilder.fromHttpRequest(request).replacePath("/api/events").replaceQuery(null).build().toUriString();
+    }
+
+    private Link self(String base, Event event) {
+        return new Link(base + "/" + event.getId()).withSelfRel();
+    }
+
+    private Link profile(String section) {
+        return new Link(PROFILE_PREFIX + section).withRel("profile");
+    }
+}
@@ -0,0 +1,72 @@
+package org.kuroneko.inflearnrestapi.reactive;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.query.Criteria;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/*
+    servlet 애플리케이션의 EventCursor와 같은 keyset 페이지네이션 커서
+    인코딩이 같으므로 두 서버가 만든 next, prev 링크를 서로 이어서 쓸 수 있다.
+ */
+@Getter @EqualsAndHashCode
+public class EventCursor {
+
+    private static final String SEPARATOR = "_";
+
+    private final LocalDateTime beginEventDateTime;
+    private final Integer id;
+
+    private EventCursor(LocalDateTime beginEventDateTime, Integer id) {
+        this.beginEventDateTime = beginEventDateTime;
+        this.id = id;
+    }
+
+    public static EventCursor of(Event event) {
+        return new EventCursor(event.getBeginEventDateTime(), event.getId());
+    }
+
+    public static EventCursor decode(String value) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int index = decoded.lastIndexOf(SEPARATOR);
+            if (index < 0) {
+                throw new IllegalArgumentException("Malformed cursor: " + value);
+            }
+            return new EventCursor(LocalDateTime.parse(decoded.substring(0, index)),
+                    Integer.valueOf(decoded.substring(index + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + value, e);
+        }
+    }
+
+    public String encode() {
+        String raw = this.beginEventDateTime + SEPARATOR + this.id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Sort sort(boolean forward) {
+        Sort.Direction direction = forward ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(direction, "beginEventDateTime", "id");
+    }
+
+    //cursor가 없으면 처음부터 조회한다.
+    public static Criteria seek(EventCursor cursor, boolean forward) {
+        if (cursor == null) {
+            return Criteria.empty();
+        }
+        if (forward) {
+            return Criteria.where("beginEventDateTime").greaterThan(cursor.getBeginEventDateTime())
+                    .or(Criteria.where("beginEventDateTime").is(cursor.getBeginEventDateTime())
+                            .and("id").greaterThan(cursor.getId()));
+        }
+        return Criteria.where("beginEventDateTime").lessThan(cursor.getBeginEventDateTime())
+                .or(Criteria.where("beginEventDateTime").is(cursor.getBeginEventDateTime())
+                        .and("id").lessThan(cursor.getId()));
+    }
+}
@@ -0,0 +1,48 @@
+package org.kuroneko.inflearnrestapi.reactive;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/*
+    servlet 애플리케이션의 EventETags에서 인증하지 않은 요청의 ETag와 같은 값을 만든다.
+    두 서버가 섞여 있어도 클라이언트와 캐시가 가진 ETag를 그대로 쓸 수 있다.
+ */
+final class EventETags {
+
+    private EventETags() {
+    }
+
+    static String of(Event event) {
+        return "\"" + event.getId() + "-" + event.getVersion() + "\"";
+    }
+
+    static String of(List<Event> events, long totalElements) {
+        StringBuilder builder = new StringBuilder()
+                .append(totalElements)
+                .append("|-");
+        events.forEach(e -> builder.append('|').append(e.getId()).append(':').append(e.getVersion()));
+        return "\"" + DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    //If-None-Match 는 weak 비교를 한다.
+    static boolean matches(String header, String eTag) {
+        if (header == null || header.isBlank()) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*")) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,6 @@
+package org.kuroneko.inflearnrestapi.reactive;
+
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+public interface EventRepository extends ReactiveCrudRepository<Event, Integer>, EventRepositoryCustom {
+}
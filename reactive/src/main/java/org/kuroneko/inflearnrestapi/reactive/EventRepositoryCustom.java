@@ -0,0 +1,16 @@
+package org.kuroneko.inflearnrestapi.reactive;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.query.Criteria;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface EventRepositoryCustom {
+    Flux<Event> findAll(Criteria criteria, Pageable pageable);
+
+    Mono<Long> count(Criteria criteria);
+
+    //count 쿼리 없이 limit 만큼만 조회
+    Flux<Event> findSlice(Criteria criteria, Sort sort, int limit);
+}
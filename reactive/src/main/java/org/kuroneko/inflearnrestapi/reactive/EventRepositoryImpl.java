@@ -0,0 +1,40 @@
+package org.kuroneko.inflearnrestapi.reactive;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class EventRepositoryImpl implements EventRepositoryCustom {
+
+    private final R2dbcEntityTemplate entityTemplate;
+
+    //Boot 2.3은 R2dbcEntityTemplate을 bean으로 등록하지 않으므로 DatabaseClient로 만든다.
+    public EventRepositoryImpl(DatabaseClient databaseClient) {
+        this.entityTemplate = new R2dbcEntityTemplate(databaseClient);
+    }
+
+    //Query.with(pageable)은 offset, limit만 적용하므로 정렬은 따로 넣는다.
+    @Override
+    public Flux<Event> findAll(Criteria criteria, Pageable pageable) {
+        return this.entityTemplate.select(Event.class)
+                .matching(Query.query(criteria).sort(pageable.getSort()).with(pageable))
+                .all();
+    }
+
+    @Override
+    public Mono<Long> count(Criteria criteria) {
+        return this.entityTemplate.count(Query.query(criteria), Event.class);
+    }
+
+    @Override
+    public Flux<Event> findSlice(Criteria criteria, Sort sort, int limit) {
+        return this.entityTemplate.select(Event.class)
+                .matching(Query.query(criteria).sort(sort).limit(limit))
+                .all();
+    }
+}
@@ -0,0 +1,52 @@
+package org.kuroneko.inflearnrestapi.reactive;
+
+import lombok.Data;
+import org.springframework.data.r2dbc.query.Criteria;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/*
+    servlet 애플리케이션의 EventSearchCondition과 같은 GET /api/events 필터 조건
+    무료 이벤트는 maxPrice 조건을 항상 만족하고, maxPrice가 0 인 유료 이벤트는 상한이 없는 이벤트이므로 maxPrice 조건에는 걸리지 않는다.
+ */
+@Data
+public class EventSearchCondition {
+
+    private EventStatus eventStatus;
+    private Boolean free;
+    private Boolean offline;
+    private Integer basePrice;
+    private Integer maxPrice;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEventDateTime;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime endEventDateTime;
+
+    public Criteria toCriteria() {
+        Criteria criteria = Criteria.empty();
+        if (this.eventStatus != null) {
+            criteria = criteria.and("eventStatus").is(this.eventStatus.name());
+        }
+        if (this.free != null) {
+            criteria = criteria.and("free").is(this.free);
+        }
+        if (this.offline != null) {
+            criteria = criteria.and("offline").is(this.offline);
+        }
+        if (this.basePrice != null) {
+            criteria = criteria.and("basePrice").greaterThanOrEquals(this.basePrice);
+        }
+        if (this.maxPrice != null) {
+            criteria = criteria.and(Criteria.where("basePrice").is(0).and("maxPrice").is(0)
+                    .or(Criteria.where("maxPrice").not(0).and("maxPrice").lessThanOrEquals(this.maxPrice)));
+        }
+        if (this.beginEventDateTime != null) {
+            criteria = criteria.and("beginEventDateTime").greaterThanOrEquals(this.beginEventDateTime);
+        }
+        if (this.endEventDateTime != null) {
+            criteria = criteria.and("endEventDateTime").lessThanOrEquals(this.endEventDateTime);
+        }
+        return criteria;
+    }
+}
@@ -0,0 +1,6 @@
+package org.kuroneko.inflearnrestapi.reactive;
+
+//servlet 애플리케이션의 EventStatus와 같은 값. eventStatus 파라미터를 검증하는 데만 쓴다.
+public enum EventStatus {
+    DRAFT, PUBLISHED, BEGAN_ENROLLMEND, CLOSED_ENROLLMENT, STARTED, ENDED
+}
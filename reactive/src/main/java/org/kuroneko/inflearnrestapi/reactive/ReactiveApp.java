@@ -0,0 +1,20 @@
+package org.kuroneko.inflearnrestapi.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.hateoas.config.EnableHypermediaSupport;
+import org.springframework.hateoas.support.WebStack;
+
+/*
+    이벤트 목록, 상세 조회만 제공하는 WebFlux + R2DBC 서버
+    쓰기와 인증은 servlet 애플리케이션이 담당하고, 이 서버는 같은 event 테이블을 읽어서 같은 HAL 응답을 한다.
+ */
+@SpringBootApplication
+@EnableHypermediaSupport(type = EnableHypermediaSupport.HypermediaType.HAL, stacks = WebStack.WEBFLUX)
+public class ReactiveApp {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveApp.class, args);
+    }
+
+}
@@ -0,0 +1,231 @@
+package org.kuroneko.inflearnrestapi.reactive;
+
+import com.jayway.jsonpath.JsonPath;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.connectionfactory.init.ConnectionFactoryInitializer;
+import org.springframework.data.r2dbc.connectionfactory.init.ResourceDatabasePopulator;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+class EventControllerTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+    @Autowired
+    DatabaseClient databaseClient;
+
+    @TestConfiguration
+    static class SchemaConfig {
+        @Bean
+        public ConnectionFactoryInitializer initializer(ConnectionFactory connectionFactory) {
+            ConnectionFactoryInitializer initializer = new ConnectionFactoryInitializer();
+            initializer.setConnectionFactory(connectionFactory);
+            initializer.setDatabasePopulator(new ResourceDatabasePopulator(new ClassPathResource("schema.sql")));
+            return initializer;
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        this.databaseClient.execute("delete from event").fetch().rowsUpdated().block();
+    }
+
+    @Test
+    @DisplayName("30개의 이벤트를 10개씩 두번째 페이지 조회하기")
+    public void queryEvents() {
+        IntStream.range(1, 31).forEach(this::generateEvent);
+
+        this.webTestClient.get().uri("/api/events?page=1&size=10&sort=id,DESC")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaTypes.HAL_JSON)
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("_embedded.eventList.length()").isEqualTo(10)
+                .jsonPath("_embedded.eventList[0].id").isEqualTo(20)
+                .jsonPath("_embedded.eventList[0].manager.id").isEqualTo(7)
+                .jsonPath("_embedded.eventList[0].eventStatus").isEqualTo("DRAFT")
+                .jsonPath("_embedded.eventList[0].managerId").doesNotExist()
+                .jsonPath("_embedded.eventList[0].version").doesNotExist()
+                .jsonPath("_embedded.eventList[0]._links.self.href").exists()
+                .jsonPath("page.totalElements").isEqualTo(30)
+                .jsonPath("page.number").isEqualTo(1)
+                .jsonPath("_links.self").exists()
+                .jsonPath("_links.first").exists()
+                .jsonPath("_links.prev").exists()
+                .jsonPath("_links.next").exists()
+                .jsonPath("_links.last").exists()
+                .jsonPath("_links.profile.href").isEqualTo("/docs/index.html#resources-events-list");
+    }
+
+    @Test
+    @DisplayName("servlet 애플리케이션과 같은 조건으로 이벤트 목록 필터링")
+    public void queryEventsWithCondition() {
+        IntStream.range(1, 6).forEach(id -> generateEvent(id, "STARTED", 200, LocalDateTime.of(2020, 7, 11, 16, 4)));
+        IntStream.range(6, 11).forEach(this::generateEvent);
+        //maxPrice가 0 이면 상한이 없는 이벤트이므로 maxPrice 조건에 걸리지 않는다.
+        generateEvent(11, "STARTED", 0, LocalDateTime.of(2020, 7, 11, 16, 4));
+
+        this.webTestClient.get().uri("/api/events?eventStatus=STARTED&free=false&maxPrice=300&beginEventDateTime=2020-07-11T00:00:00")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("page.totalElements").isEqualTo(5)
+                .jsonPath("_embedded.eventList[*].eventStatus").value(everyItem(is("STARTED")))
+                .jsonPath("_embedded.eventList[*].maxPrice").value(everyItem(is(200)));
+
+        this.webTestClient.get().uri("/api/events?eventStatus=UNKNOWN")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("maxPrice 조건은 무료 이벤트를 포함하고 상한이 없는 유료 이벤트만 제외")
+    public void queryEventsWithMaxPrice_Free() {
+        generateEvent(1);
+        generateEvent(2, "DRAFT", 0, LocalDateTime.of(2020, 7, 11, 16, 4));
+        generateEvent(3, "DRAFT", 0, 0, true, LocalDateTime.of(2020, 7, 11, 16, 4));
+
+        this.webTestClient.get().uri("/api/events?maxPrice=300&sort=id")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("page.totalElements").isEqualTo(2)
+                .jsonPath("_embedded.eventList[0].id").isEqualTo(1)
+                .jsonPath("_embedded.eventList[1].id").isEqualTo(3);
+
+        this.webTestClient.get().uri("/api/events?free=true&maxPrice=0")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("page.totalElements").isEqualTo(1)
+                .jsonPath("_embedded.eventList[0].id").isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("after, before 커서로 이벤트 목록 조회")
+    public void queryEventsByCursor() {
+        IntStream.range(1, 31).forEach(id -> generateEvent(id, "DRAFT", 200, LocalDateTime.of(2020, 7, 11, 16, 4).plusHours(31 - id)));
+
+        EntityExchangeResult<byte[]> firstPage = this.webTestClient.get().uri("/api/events?after=&size=10")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("page").doesNotExist()
+                .jsonPath("_embedded.eventList.length()").isEqualTo(10)
+                .jsonPath("_embedded.eventList[0].id").isEqualTo(30)
+                .jsonPath("_links.self").exists()
+                .jsonPath("_links.next").exists()
+                .jsonPath("_links.prev").doesNotExist()
+                .jsonPath("_links.profile.href").isEqualTo("/docs/index.html#resources-events-list-cursor")
+                .returnResult();
+        String next = JsonPath.read(new String(firstPage.getResponseBody(), StandardCharsets.UTF_8), "_links.next.href");
+
+        EntityExchangeResult<byte[]> secondPage = this.webTestClient.get().uri(next)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("_embedded.eventList.length()").isEqualTo(10)
+                .jsonPath("_embedded.eventList[0].id").isEqualTo(20)
+                .jsonPath("_links.next").exists()
+                .jsonPath("_links.prev").exists()
+                .returnResult();
+        String prev = JsonPath.read(new String(secondPage.getResponseBody(), StandardCharsets.UTF_8), "_links.prev.href");
+
+        this.webTestClient.get().uri(prev)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("_embedded.eventList.length()").isEqualTo(10)
+                .jsonPath("_embedded.eventList[0].id").isEqualTo(30)
+                .jsonPath("_embedded.eventList[9].id").isEqualTo(21);
+
+        this.webTestClient.get().uri("/api/events?after=not-a-cursor")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("이벤트 한개 조회, ETag가 같으면 304응답")
+    public void queryEvent() {
+        generateEvent(1);
+
+        String eTag = this.webTestClient.get().uri("/api/events/{id}", 1)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1-0\"")
+                .expectBody()
+                .jsonPath("id").isEqualTo(1)
+                .jsonPath("name").isEqualTo("event 1")
+                .jsonPath("beginEnrollmentDateTime").isEqualTo("2020-07-09T16:04:00")
+                .jsonPath("manager.id").isEqualTo(7)
+                .jsonPath("_links.self").exists()
+                .jsonPath("_links.profile.href").isEqualTo("/docs/index.html#resources-events-get")
+                .returnResult().getResponseHeaders().getETag();
+
+        this.webTestClient.get().uri("/api/events/{id}", 1)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    @DisplayName("없는 이벤트를 조회했을 경우 404응답")
+    public void queryEvent_404error() {
+        this.webTestClient.get().uri("/api/events/{id}", 1937820)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private void generateEvent(int id) {
+        generateEvent(id, "DRAFT", 200, LocalDateTime.of(2020, 7, 11, 16, 4));
+    }
+
+    private void generateEvent(int id, String eventStatus, int maxPrice, LocalDateTime beginEventDateTime) {
+        generateEvent(id, eventStatus, 100, maxPrice, false, beginEventDateTime);
+    }
+
+    private void generateEvent(int id, String eventStatus, int basePrice, int maxPrice, boolean free, LocalDateTime beginEventDateTime) {
+        this.databaseClient.insert().into("event")
+                .value("id", id)
+                .value("name", "event " + id)
+                .value("description", "REST API Development with Spring")
+                .value("begin_enrollment_date_time", LocalDateTime.of(2020, 7, 9, 16, 4))
+                .value("close_enrollment_date_time", LocalDateTime.of(2020, 7, 10, 16, 4))
+                .value("begin_event_date_time", beginEventDateTime)
+                .value("end_event_date_time", LocalDateTime.of(2020, 7, 12, 16, 4))
+                .value("location", "강남역 D2 스타텁 팩토리")
+                .value("base_price", basePrice)
+                .value("max_price", maxPrice)
+                .value("limit_of_enrollment", 100)
+                .value("offline", true)
+                .value("free", free)
+                .value("manager_id", 7)
+                .value("event_status", eventStatus)
+                .value("version", 0L)
+                .fetch().rowsUpdated().block();
+    }
+}
@@ -0,0 +1,19 @@
+-- servlet 애플리케이션에서 Hibernate가 만드는 event 테이블
+create table if not exists event (
+    id integer primary key,
+    name varchar(255),
+    description varchar(255),
+    begin_enrollment_date_time timestamp,
+    close_enrollment_date_time timestamp,
+    begin_event_date_time timestamp,
+    end_event_date_time timestamp,
+    location varchar(255),
+    base_price integer not null,
+    max_price integer not null,
+    limit_of_enrollment integer not null,
+    offline boolean not null,
+    free boolean not null,
+    manager_id integer,
+    event_status varchar(255),
+    version bigint
+);
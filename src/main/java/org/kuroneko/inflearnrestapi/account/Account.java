@@ -1,11 +1,15 @@
 package org.kuroneko.inflearnrestapi.account;
 
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.Set;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "account")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 @EqualsAndHashCode(of = "id") @Builder
 public class Account {
@@ -16,7 +20,10 @@ public class Account {
 
     private String password;
 
+    //여러 Account를 한번에 읽을 때 roles를 account 마다 따로 조회하지 않고 묶어서 조회한다.
     @ElementCollection(fetch = FetchType.EAGER)
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "account-roles")
     @Enumerated(EnumType.STRING)
     private Set<AccountRole> roles;
 
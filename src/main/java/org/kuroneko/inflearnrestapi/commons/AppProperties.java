@@ -1,11 +1,16 @@
 package org.kuroneko.inflearnrestapi.commons;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import javax.validation.constraints.NotEmpty;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 @ConfigurationProperties(prefix = "my-app")
@@ -25,4 +30,40 @@ public class AppProperties {
     @NotEmpty
     private String clientSecret;
 
+    private RateLimit rateLimit = new RateLimit();
+
+    private Replication replication = new Replication();
+
+    //이벤트 쓰기 요청과 /oauth/token 요청 제한
+    @Getter @Setter
+    public static class RateLimit {
+        private boolean enabled = true;
+        private Limit account = new Limit(100, 20);
+        private Limit client = new Limit(1000, 200);
+    }
+
+    //capacity 만큼 연달아 요청할 수 있고 초당 refillPerSecond 만큼 다시 채워진다.
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor
+    public static class Limit {
+        private int capacity;
+        private double refillPerSecond;
+    }
+
+    //읽기 전용 트랜잭션을 보낼 replica, 하나도 없으면 spring.datasource 만 쓴다.
+    @Getter @Setter
+    public static class Replication {
+        private List<Replica> replicas = new ArrayList<>();
+        private Duration healthCheckInterval = Duration.ofSeconds(5);
+        //replica 풀에서 커넥션을 기다리는 시간, 지나면 이번 커넥션은 다른 replica나 primary에서 얻는다.
+        private Duration connectionTimeout = Duration.ofSeconds(1);
+        //쓰기 요청을 보낸 계정의 조회는 이 시간 동안 primary로 보낸다.
+        private Duration readYourWritesWindow = Duration.ofSeconds(5);
+    }
+
+    @Getter @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
 }
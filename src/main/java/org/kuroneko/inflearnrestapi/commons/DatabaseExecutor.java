@@ -0,0 +1,149 @@
+package org.kuroneko.inflearnrestapi.commons;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.kuroneko.inflearnrestapi.config.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/*
+    조회 요청의 DB 작업을 톰캣 요청 스레드 대신 실행하는 executor
+    스레드 수는 커넥션 풀 크기와 같게 두어서 커넥션을 기다리며 막힌 스레드가 생기지 않게 하고,
+    큐가 가득 차면 RejectedExecutionException, timeout 안에 끝나지 않으면 TimeoutException으로 완료되어 503으로 응답한다.
+    DB 작업(query)과 요청으로 링크를 만드는 응답 만들기(render)를 나누어 받고,
+    render는 트랜잭션이 끝나 커넥션을 돌려준 후에, timeout으로 먼저 응답하지 않았을 때에만 실행하며 그동안은 timeout이 응답하지 못하게 한다.
+    응답이 끝난 요청은 컨테이너가 다른 연결에 재사용할 수 있기 때문이다.
+    503으로 응답한 후에도 query가 커넥션을 계속 잡고 있지 않도록 트랜잭션 timeout을 남은 시간으로 두어 statement timeout으로 취소되게 한다.
+    링크를 만들고 현재 계정을 확인할 수 있도록 요청과 SecurityContext를, primary를 써야 하는 요청인지도 작업 스레드로 넘긴다.
+ */
+@Component
+public class DatabaseExecutor {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${my-app.db-executor.queue-capacity:100}")
+    private int queueCapacity;
+    @Value("${my-app.db-executor.timeout:10s}")
+    private Duration timeout;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        int poolSize = poolSize();
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(poolSize);
+        this.executor.setMaxPoolSize(poolSize);
+        this.executor.setQueueCapacity(this.queueCapacity);
+        this.executor.setThreadNamePrefix("db-");
+        this.executor.setDaemon(true);
+        this.executor.setTaskDecorator(DatabaseExecutor::withRequestContext);
+        this.executor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.executor.shutdown();
+    }
+
+    //읽기 전용 트랜잭션에서 query를 실행하고 그 결과로 render 한다.
+    public <T, R> CompletableFuture<R> readOnly(Supplier<T> query, Function<T, R> render) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        long deadline = System.nanoTime() + this.timeout.toNanos();
+        this.executor.execute(() -> {
+            //큐에서 기다리는 동안 이미 503으로 응답했으면 DB에 가지 않는다.
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                T result = readOnlyTransaction(deadline).execute(status -> query.get());
+                synchronized (future) {
+                    if (!future.isDone()) {
+                        future.complete(render.apply(result));
+                    }
+                }
+            } catch (Throwable e) {
+                synchronized (future) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        CompletableFuture.delayedExecutor(this.timeout.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+            synchronized (future) {
+                future.completeExceptionally(new TimeoutException());
+            }
+        });
+        return future;
+    }
+
+    //트랜잭션 timeout은 초 단위라서 남은 시간을 올림한다.
+    private TransactionTemplate readOnlyTransaction(long deadline) {
+        long remaining = Math.max(deadline - System.nanoTime(), 0);
+        TransactionTemplate template = new TransactionTemplate(this.transactionManager);
+        template.setReadOnly(true);
+        template.setTimeout((int) Math.max(1, (remaining + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1)));
+        return template;
+    }
+
+    private int poolSize() {
+        try {
+            //풀이 시작되기 전에는 설정하지 않은 크기가 -1 이다.
+            if (this.dataSource.isWrapperFor(HikariDataSource.class)) {
+                int maximumPoolSize = this.dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                if (maximumPoolSize > 0) {
+                    return maximumPoolSize;
+                }
+            }
+        } catch (SQLException e) {
+            //크기를 알 수 없으면 Hikari 기본값을 쓴다.
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+
+    private static Runnable withRequestContext(Runnable task) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        boolean primaryOnly = ReplicaRoutingDataSource.isPrimaryOnly();
+        return () -> {
+            //요청 스레드의 RequestAttributes는 요청 스레드가 돌아가면 비활성화되므로 같은 요청으로 새로 만든다.
+            if (attributes instanceof ServletRequestAttributes) {
+                ServletRequestAttributes servletAttributes = (ServletRequestAttributes) attributes;
+                RequestContextHolder.setRequestAttributes(
+                        new ServletRequestAttributes(servletAttributes.getRequest(), servletAttributes.getResponse()));
+            }
+            SecurityContextHolder.setContext(securityContext);
+            ReplicaRoutingDataSource.usePrimary(primaryOnly);
+            try {
+                task.run();
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+                SecurityContextHolder.clearContext();
+                ReplicaRoutingDataSource.restore(false);
+            }
+        };
+    }
+}
@@ -0,0 +1,283 @@
+package org.kuroneko.inflearnrestapi.commons;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.kuroneko.inflearnrestapi.account.Account;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import javax.annotation.PostConstruct;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/*
+    Idempotency-Key 헤더로 재시도된 쓰기 요청을 한번만 처리한다.
+    키는 계정, 요청 경로별로 구분하고 처음 요청의 응답을 저장해뒀다가 같은 키로 다시 오면 저장한 응답을 그대로 돌려준다.
+    처음 요청이 아직 처리 중이면 새로 처리하지 않고 그 결과를 기다린다.
+    같은 키에 본문이 다른 요청은 422, 5xx 응답과 예외는 저장하지 않아서 다시 시도할 수 있다.
+    응답은 엔티티 대신 직렬화한 byte로 저장하고 크기의 합(maximum-weight)으로 제한한다.
+    처리 중인 요청은 크기 제한으로 지워지면 같은 키의 요청이 다시 처리되므로 따로 두고 끝난 뒤에 옮긴다.
+ */
+@Component
+public class IdempotencyKeys {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long IN_FLIGHT_TIMEOUT_SECONDS = 30;
+    private static final MediaType CONTENT_TYPE = new MediaType(MediaTypes.HAL_JSON, StandardCharsets.UTF_8);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Value("${my-app.idempotency.maximum-weight:64MB}")
+    private DataSize maximumWeight;
+    @Value("${my-app.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private Cache<String, StoredResponse> completed;
+
+    @PostConstruct
+    public void init() {
+        this.completed = Caffeine.newBuilder()
+                .maximumWeight(this.maximumWeight.toBytes())
+                .weigher((String key, StoredResponse response) -> key.length() + response.weight())
+                .expireAfterWrite(this.ttl)
+                //큰 응답이 몰려도 바로 제한을 지키도록 정리 작업을 저장한 스레드에서 한다.
+                .executor(Runnable::run)
+                .build();
+    }
+
+    //request의 JSON이 같아야 같은 요청으로 본다.
+    public ResponseEntity<?> execute(Account account, String path, String key, Object request, Supplier<ResponseEntity<?>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return error(HttpStatus.BAD_REQUEST, "invalidIdempotencyKey", "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String cacheKey = cacheKey(account, path, key);
+        String fingerprint = fingerprint(request);
+        while (true) {
+            StoredResponse stored = this.completed.getIfPresent(cacheKey);
+            if (stored == null) {
+                InFlight mine = new InFlight(fingerprint);
+                InFlight current = this.inFlight.putIfAbsent(cacheKey, mine);
+                if (current == null) {
+                    //확인한 뒤에 처음 요청이 끝나서 옮겨졌을 수 있다.
+                    stored = this.completed.getIfPresent(cacheKey);
+                    if (stored == null) {
+                        return runFirst(cacheKey, mine, action);
+                    }
+                    this.inFlight.remove(cacheKey, mine);
+                    mine.response.complete(stored);
+                } else {
+                    if (!current.fingerprint.equals(fingerprint)) {
+                        return reused();
+                    }
+                    try {
+                        stored = current.response.get(IN_FLIGHT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                    } catch (ExecutionException e) {
+                        //처음 요청이 실패해서 키가 지워졌으므로 다시 처리한다.
+                        continue;
+                    } catch (TimeoutException e) {
+                        return error(HttpStatus.CONFLICT, "idempotencyKeyInFlight", "A request with this Idempotency-Key is still in progress");
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return error(HttpStatus.SERVICE_UNAVAILABLE, "interrupted", "Interrupted while waiting for the original request");
+                    }
+                    //처음 요청이 저장하지 않을 응답으로 끝났으면 다시 처리한다.
+                    if (stored == null) {
+                        continue;
+                    }
+                }
+            }
+            if (!stored.fingerprint.equals(fingerprint)) {
+                return reused();
+            }
+            return stored.replay();
+        }
+    }
+
+    //응답을 저장할 수 없는 요청(스트리밍 응답)은 처음 한번만 받는다. 이미 받은 키면 false
+    public boolean claim(Account account, String path, String key) {
+        String cacheKey = cacheKey(account, path, key);
+        InFlight mine = new InFlight("");
+        if (this.inFlight.putIfAbsent(cacheKey, mine) != null) {
+            return false;
+        }
+        if (this.completed.getIfPresent(cacheKey) != null) {
+            this.inFlight.remove(cacheKey, mine);
+            return false;
+        }
+        return true;
+    }
+
+    //claim 한 요청을 처리했으면 ttl 동안 다시 받지 않는다.
+    public void complete(Account account, String path, String key) {
+        String cacheKey = cacheKey(account, path, key);
+        this.completed.put(cacheKey, StoredResponse.CLAIMED);
+        this.inFlight.remove(cacheKey);
+    }
+
+    //claim 한 요청이 처리되지 않고 실패한 경우 다시 받을 수 있게 한다.
+    public void release(Account account, String path, String key) {
+        this.inFlight.remove(cacheKey(account, path, key));
+    }
+
+    //직렬화한 응답 크기의 합
+    long weightedSize() {
+        this.completed.cleanUp();
+        return this.completed.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    private ResponseEntity<?> runFirst(String cacheKey, InFlight mine, Supplier<ResponseEntity<?>> action) {
+        ResponseEntity<?> response;
+        StoredResponse stored = null;
+        try {
+            response = action.get();
+            if (!response.getStatusCode().is5xxServerError()) {
+                stored = store(mine.fingerprint, response);
+                this.completed.put(cacheKey, stored);
+            }
+        } catch (RuntimeException e) {
+            this.inFlight.remove(cacheKey, mine);
+            mine.response.completeExceptionally(e);
+            throw e;
+        }
+        this.inFlight.remove(cacheKey, mine);
+        mine.response.complete(stored);
+        return response;
+    }
+
+    //응답할 때와 같은 HAL 컨버터로 본문을 미리 써둔다.
+    @SuppressWarnings("unchecked")
+    private StoredResponse store(String fingerprint, ResponseEntity<?> response) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        Object body = response.getBody();
+        if (body == null) {
+            return new StoredResponse(fingerprint, response.getStatusCodeValue(), headers, null);
+        }
+        for (HttpMessageConverter<?> converter : this.handlerAdapter.getMessageConverters()) {
+            if (converter.canWrite(body.getClass(), CONTENT_TYPE)) {
+                BufferedOutputMessage message = new BufferedOutputMessage();
+                try {
+                    ((HttpMessageConverter<Object>) converter).write(body, CONTENT_TYPE, message);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+                headers.setContentType(message.getHeaders().getContentType());
+                return new StoredResponse(fingerprint, response.getStatusCodeValue(), headers, message.body.toByteArray());
+            }
+        }
+        throw new IllegalStateException("No converter for " + body.getClass());
+    }
+
+    private ResponseEntity<?> reused() {
+        return error(HttpStatus.UNPROCESSABLE_ENTITY, "idempotencyKeyReused", "Idempotency-Key was used with a different request");
+    }
+
+    private ResponseEntity<?> error(HttpStatus status, String code, String message) {
+        Errors errors = new MapBindingResult(new HashMap<>(), "request");
+        errors.reject(code, message);
+        return ResponseEntity.status(status).body(new ErrorsResource(errors));
+    }
+
+    private String cacheKey(Account account, String path, String key) {
+        return account.getId() + " " + path + " " + key;
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(this.objectMapper.writeValueAsBytes(request));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class InFlight {
+        private final String fingerprint;
+        //저장하지 않는 응답이면 null로 완료된다.
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+
+        private InFlight(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    private static class StoredResponse {
+        private static final StoredResponse CLAIMED = new StoredResponse("", 0, new HttpHeaders(), null);
+
+        private final String fingerprint;
+        private final int status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        private StoredResponse(String fingerprint, int status, HttpHeaders headers, byte[] body) {
+            this.fingerprint = fingerprint;
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        private ResponseEntity<?> replay() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(this.headers);
+            headers.set(REPLAYED_HEADER, "true");
+            return ResponseEntity.status(this.status).headers(headers).body(this.body);
+        }
+
+        private int weight() {
+            int weight = this.fingerprint.length() + (this.body == null ? 0 : this.body.length);
+            for (Map.Entry<String, List<String>> header : this.headers.entrySet()) {
+                weight += header.getKey().length();
+                for (String value : header.getValue()) {
+                    weight += value.length();
+                }
+            }
+            return weight;
+        }
+    }
+
+    private static class BufferedOutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        @Override
+        public OutputStream getBody() {
+            return this.body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return this.headers;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package org.kuroneko.inflearnrestapi.commons;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.kuroneko.inflearnrestapi.account.AccountAdapter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.annotation.Order;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+    이벤트 쓰기 요청은 OAuth client와 계정별로, /oauth/token 요청은 client별로 요청 수를 제한한다.
+    인증된 사용자를 알아야 하므로 spring security filter 다음 순서로 등록한다.
+    인증에 실패한 요청은 여기까지 오지 않는다.
+    계정 제한으로 거절한 요청은 client 토큰을 돌려줘서, 제한에 걸린 계정이 같은 client의 다른 계정 몫을 쓰지 않게 한다.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String REJECTED_METRIC = "rate.limit.rejected";
+    private static final String TOKEN_PATH = "/oauth/token";
+    private static final String EVENTS_PATH = "/api/events";
+    private static final MediaType CONTENT_TYPE = new MediaType(MediaTypes.HAL_JSON, StandardCharsets.UTF_8);
+
+    @Autowired
+    private AppProperties appProperties;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    //filter는 MVC 보다 먼저 만들어지므로 처음 거절할 때 가져온다.
+    @Autowired @Lazy
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    private RateLimiter clients;
+    private RateLimiter accounts;
+
+    @PostConstruct
+    public void init() {
+        this.clients = new RateLimiter(this.appProperties.getRateLimit().getClient());
+        this.accounts = new RateLimiter(this.appProperties.getRateLimit().getAccount());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !this.appProperties.getRateLimit().isEnabled() || !(isTokenRequest(request) || isEventWrite(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String clientId = clientId(request, authentication);
+        if (clientId != null) {
+            long wait = acquire(this.clients, "client", clientId);
+            if (wait > 0) {
+                tooManyRequests(response, "client", wait);
+                return;
+            }
+        }
+        Integer accountId = accountId(authentication);
+        if (accountId != null) {
+            long wait = acquire(this.accounts, "account", accountId);
+            if (wait > 0) {
+                if (clientId != null) {
+                    this.clients.release(clientId);
+                }
+                tooManyRequests(response, "account", wait);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    //다른 오류 응답처럼 ErrorsResource를 HAL 컨버터로 쓴다.
+    @SuppressWarnings("unchecked")
+    private void tooManyRequests(HttpServletResponse response, String limit, long wait) throws IOException {
+        Errors errors = new MapBindingResult(new HashMap<>(), "request");
+        errors.reject("tooManyRequests", "Too many requests for this " + limit);
+        ErrorsResource body = new ErrorsResource(errors);
+
+        ServletServerHttpResponse message = new ServletServerHttpResponse(response);
+        message.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        message.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (wait + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1))));
+        for (HttpMessageConverter<?> converter : this.handlerAdapter.getMessageConverters()) {
+            if (converter.canWrite(ErrorsResource.class, CONTENT_TYPE)) {
+                ((HttpMessageConverter<Object>) converter).write(body, CONTENT_TYPE, message);
+                return;
+            }
+        }
+        message.flush();
+    }
+
+    private long acquire(RateLimiter limiter, String limit, Object key) {
+        long wait = limiter.tryAcquire(key);
+        if (wait > 0) {
+            this.meterRegistry.counter(REJECTED_METRIC, "limit", limit).increment();
+        }
+        return wait;
+    }
+
+    //token 요청은 client 인증(basic)으로, 나머지는 access token으로 client를 알 수 있다.
+    private String clientId(HttpServletRequest request, Authentication authentication) {
+        if (authentication instanceof OAuth2Authentication) {
+            return ((OAuth2Authentication) authentication).getOAuth2Request().getClientId();
+        }
+        if (authentication != null && authentication.isAuthenticated() && isTokenRequest(request)) {
+            return authentication.getName();
+        }
+        return null;
+    }
+
+    private Integer accountId(Authentication authentication) {
+        if (authentication instanceof OAuth2Authentication) {
+            Authentication user = ((OAuth2Authentication) authentication).getUserAuthentication();
+            if (user != null && user.getPrincipal() instanceof AccountAdapter) {
+                return ((AccountAdapter) user.getPrincipal()).getAccount().getId();
+            }
+        }
+        return null;
+    }
+
+    private boolean isTokenRequest(HttpServletRequest request) {
+        return path(request).equals(TOKEN_PATH);
+    }
+
+    private boolean isEventWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return path(request).startsWith(EVENTS_PATH)
+                && !(HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method));
+    }
+
+    private String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,63 @@
+package org.kuroneko.inflearnrestapi.commons;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/*
+    키별 token bucket. (GCRA)
+    bucket마다 토큰 수와 채운 시각 대신 "다음 요청이 허용되는 이론상 시각" 하나만 AtomicLong에 두고 CAS로 갱신하므로 잠금이 없다.
+    capacity * interval 동안 요청이 없으면 bucket이 가득 찬 것과 같으므로 그 시간 동안 쓰이지 않은 키는 잊어버린다.
+ */
+public class RateLimiter {
+
+    private static final long MAXIMUM_KEYS = 100_000;
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final LongSupplier clock;
+    private final Cache<Object, AtomicLong> buckets;
+
+    public RateLimiter(AppProperties.Limit limit) {
+        this(limit, System::nanoTime);
+    }
+
+    RateLimiter(AppProperties.Limit limit, LongSupplier clock) {
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / limit.getRefillPerSecond());
+        this.toleranceNanos = this.intervalNanos * limit.getCapacity();
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_KEYS)
+                .expireAfterAccess(Duration.ofNanos(this.toleranceNanos))
+                .build();
+    }
+
+    //토큰을 하나 쓰고 0을 돌려준다. 토큰이 없으면 쓰지 않고 다음 토큰까지 남은 nanos를 돌려준다.
+    public long tryAcquire(Object key) {
+        long now = this.clock.getAsLong();
+        AtomicLong bucket = this.buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long tat = bucket.get();
+            long next = Math.max(tat, now) + this.intervalNanos;
+            long wait = next - now - this.toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    //tryAcquire로 쓴 토큰을 돌려준다.
+    public void release(Object key) {
+        AtomicLong bucket = this.buckets.getIfPresent(key);
+        if (bucket != null) {
+            bucket.addAndGet(-this.intervalNanos);
+        }
+    }
+}
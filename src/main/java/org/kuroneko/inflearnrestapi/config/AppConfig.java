@@ -5,8 +5,6 @@ import org.kuroneko.inflearnrestapi.account.AccountRepository;
 import org.kuroneko.inflearnrestapi.account.AccountRole;
 import org.kuroneko.inflearnrestapi.account.AccountService;
 import org.kuroneko.inflearnrestapi.commons.AppProperties;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.convention.NameTokenizers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
@@ -20,15 +18,6 @@ import java.util.Set;
 
 @Configuration
 public class AppConfig {
-    @Bean
-    public ModelMapper modelMapper(){
-        ModelMapper modelMapper = new ModelMapper();
-        modelMapper.getConfiguration()
-                .setDestinationNameTokenizer(NameTokenizers.UNDERSCORE)
-                .setSourceNameTokenizer(NameTokenizers.UNDERSCORE);
-        return modelMapper;
-    }
-
     @Bean
     public PasswordEncoder passwordEncoder(){
         return PasswordEncoderFactories.createDelegatingPasswordEncoder();
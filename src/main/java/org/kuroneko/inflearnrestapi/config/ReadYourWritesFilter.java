@@ -0,0 +1,72 @@
+package org.kuroneko.inflearnrestapi.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.kuroneko.inflearnrestapi.account.AccountAdapter;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+/*
+    /api 쓰기 요청과, 쓰기 요청을 보낸 계정이 window 안에 보낸 요청은 replica가 따라오지 못했을 수 있으므로 primary로 보낸다.
+    계정을 알아야 하므로 spring security filter 다음 순서로 등록한다.
+    비동기 조회는 DatabaseExecutor가 요청 스레드의 값을 넘겨받는다.
+    /oauth/token 은 DB에 쓰지 않으므로 계정 조회(loadUserByUsername)도 replica로 간다.
+ */
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 2)
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final String API_PATH = "/api/";
+
+    private final Cache<Integer, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        Integer accountId = accountId(SecurityContextHolder.getContext().getAuthentication());
+        boolean write = isApiWrite(request);
+        if (write && accountId != null) {
+            this.recentWriters.put(accountId, Boolean.TRUE);
+        }
+
+        boolean primaryOnly = write || (accountId != null && this.recentWriters.getIfPresent(accountId) != null);
+        boolean previous = ReplicaRoutingDataSource.usePrimary(primaryOnly);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.restore(previous);
+        }
+    }
+
+    private Integer accountId(Authentication authentication) {
+        if (authentication instanceof OAuth2Authentication) {
+            authentication = ((OAuth2Authentication) authentication).getUserAuthentication();
+        }
+        if (authentication != null && authentication.getPrincipal() instanceof AccountAdapter) {
+            return ((AccountAdapter) authentication.getPrincipal()).getAccount().getId();
+        }
+        return null;
+    }
+
+    private boolean isApiWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return request.getRequestURI().substring(request.getContextPath().length()).startsWith(API_PATH)
+                && !(HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method));
+    }
+}
@@ -0,0 +1,82 @@
+package org.kuroneko.inflearnrestapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.kuroneko.inflearnrestapi.commons.AppProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    my-app.replication.replicas 가 설정되어 있을 때만 spring.datasource 를 primary로 하는 ReplicaRoutingDataSource를 쓴다.
+ */
+@Configuration
+@ConditionalOnProperty("my-app.replication.replicas[0].url")
+public class ReplicaDataSourceConfig implements DisposableBean {
+
+    @Autowired
+    AppProperties appProperties;
+    @Autowired
+    Environment environment;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(this.environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        AppProperties.Replication replication = this.appProperties.getReplication();
+        List<DataSource> replicas = new ArrayList<>();
+        for (AppProperties.Replica replica : replication.getReplicas()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + replicas.size());
+            dataSource.setDriverClassName(properties.determineDriverClassName());
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername() != null ? replica.getUsername() : properties.determineUsername());
+            dataSource.setPassword(replica.getPassword() != null ? replica.getPassword() : properties.determinePassword());
+            dataSource.setMaximumPoolSize(primary.getMaximumPoolSize() > 0 ? primary.getMaximumPoolSize() : 10);
+            dataSource.setReadOnly(true);
+            dataSource.setConnectionTimeout(replication.getConnectionTimeout().toMillis());
+            //replica가 떠 있지 않아도 애플리케이션은 시작한다.
+            dataSource.setInitializationFailTimeout(-1);
+            replicas.add(dataSource);
+        }
+
+        this.routingDataSource = new ReplicaRoutingDataSource(primary, replicas);
+        this.routingDataSource.startHealthCheck(replication.getHealthCheckInterval());
+        return new LazyConnectionDataSourceProxy(this.routingDataSource);
+    }
+
+    //OSIV로 요청 내내 열려 있는 EntityManager가 처음 얻은 커넥션을 붙잡고 있으면 뒤의 트랜잭션도 같은 DB로 가므로 트랜잭션마다 돌려준다.
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter(this.appProperties.getReplication().getReadYourWritesWindow());
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (this.routingDataSource != null) {
+            this.routingDataSource.close();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package org.kuroneko.inflearnrestapi.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/*
+    읽기 전용 트랜잭션의 커넥션은 살아있는 replica 중에서 돌아가며, 나머지는 primary에서 가져온다.
+    트랜잭션의 readOnly 여부는 커넥션을 얻은 다음에 정해지므로 LazyConnectionDataSourceProxy로 감싸서 써야 한다.
+    replica에서 커넥션을 얻지 못하면 이번 커넥션만 다른 replica나 primary에서 얻는다.
+    replica가 down인지는 health check가 정하고, 연결에 실패했으면 health check를 바로 한번 더 실행한다.
+    풀이 가득 차서 기다리다 timeout 된 것은 replica가 살아있으므로 down으로 보지 않는다.
+    usePrimary() 로 표시한 스레드(쓰기 요청, 방금 쓰기 요청을 보낸 계정의 조회)는 읽기 전용이어도 primary를 쓴다.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicBoolean checkRequested = new AtomicBoolean();
+    private ScheduledExecutorService healthCheck;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        this.primary = primary;
+        this.replicas = IntStream.range(0, replicas.size())
+                .mapToObj(i -> new Replica(i, replicas.get(i)))
+                .collect(Collectors.toList());
+    }
+
+    public static boolean isPrimaryOnly() {
+        return Boolean.TRUE.equals(PRIMARY_ONLY.get());
+    }
+
+    //이전 값을 돌려주므로 끝나면 restore() 로 되돌린다.
+    public static boolean usePrimary(boolean primaryOnly) {
+        boolean previous = isPrimaryOnly();
+        restore(primaryOnly);
+        return previous;
+    }
+
+    public static void restore(boolean primaryOnly) {
+        if (primaryOnly) {
+            PRIMARY_ONLY.set(Boolean.TRUE);
+        } else {
+            PRIMARY_ONLY.remove();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (routeToReplica()) {
+            int size = this.replicas.size();
+            int start = Math.floorMod(this.next.getAndIncrement(), size);
+            for (int i = 0; i < size; i++) {
+                Replica replica = this.replicas.get((start + i) % size);
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    if (isPoolTimeout(e)) {
+                        log.debug("replica {} is busy", replica.index, e);
+                    } else {
+                        log.warn("failed to connect to replica {}, checking its health", replica.index, e);
+                        requestHealthCheck();
+                    }
+                }
+            }
+        }
+        return this.primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return this.primary.getConnection(username, password);
+    }
+
+    public void startHealthCheck(Duration interval) {
+        this.healthCheck = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.healthCheck.scheduleWithFixedDelay(this::checkHealth, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void requestHealthCheck() {
+        if (this.healthCheck != null && this.checkRequested.compareAndSet(false, true)) {
+            this.healthCheck.execute(() -> {
+                this.checkRequested.set(false);
+                checkHealth();
+            });
+        }
+    }
+
+    void checkHealth() {
+        for (Replica replica : this.replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(1);
+            } catch (SQLException e) {
+                //커넥션이 모두 쓰이고 있으면 살아있는 것이다.
+                healthy = isPoolTimeout(e);
+            }
+            if (healthy != replica.healthy) {
+                log.info("replica {} is {}", replica.index, healthy ? "up" : "down");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    int healthyReplicas() {
+        return (int) this.replicas.stream().filter(r -> r.healthy).count();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (this.healthCheck != null) {
+            this.healthCheck.shutdownNow();
+        }
+        for (Replica replica : this.replicas) {
+            if (replica.dataSource instanceof AutoCloseable) {
+                ((AutoCloseable) replica.dataSource).close();
+            }
+        }
+        if (this.primary instanceof AutoCloseable) {
+            ((AutoCloseable) this.primary).close();
+        }
+    }
+
+    //풀 크기 등을 확인할 수 있도록 primary를 꺼내준다.
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return this.primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || this.primary.isWrapperFor(iface);
+    }
+
+    private boolean routeToReplica() {
+        return !this.replicas.isEmpty()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !isPrimaryOnly();
+    }
+
+    /*
+        Hikari는 풀에서 기다리다 timeout 되면 SQLTransientConnectionException을 던지는데,
+        그 사이 새 커넥션을 만들지 못했으면 마지막 실패의 SQLState(08 연결 실패)를, 커넥션이 모두 쓰이고 있었으면 SQLState 없이 던진다.
+     */
+    static boolean isPoolTimeout(SQLException e) {
+        String sqlState = e.getSQLState();
+        return e instanceof SQLTransientConnectionException && (sqlState == null || !sqlState.startsWith("08"));
+    }
+
+    private static class Replica {
+        private final int index;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(int index, DataSource dataSource) {
+            this.index = index;
+            this.dataSource = dataSource;
+        }
+    }
+}
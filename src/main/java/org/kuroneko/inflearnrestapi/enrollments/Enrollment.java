@@ -0,0 +1,31 @@
+package org.kuroneko.inflearnrestapi.enrollments;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.*;
+import org.kuroneko.inflearnrestapi.account.Account;
+import org.kuroneko.inflearnrestapi.account.AccountSerializer;
+import org.kuroneko.inflearnrestapi.events.Event;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_enrollment_event_account", columnNames = {"event_id", "account_id"}))
+@Builder @AllArgsConstructor
+@NoArgsConstructor @Getter @Setter @EqualsAndHashCode(of = "id")
+public class Enrollment {
+
+    @Id @GeneratedValue
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JsonIgnore
+    private Event event;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JsonSerialize(using = AccountSerializer.class)
+    private Account account;
+
+    private LocalDateTime enrolledAt;
+}
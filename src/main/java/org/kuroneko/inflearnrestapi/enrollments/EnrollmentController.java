@@ -0,0 +1,95 @@
+package org.kuroneko.inflearnrestapi.enrollments;
+
+import org.kuroneko.inflearnrestapi.account.Account;
+import org.kuroneko.inflearnrestapi.account.CurrentAccount;
+import org.kuroneko.inflearnrestapi.commons.ErrorsResource;
+import org.kuroneko.inflearnrestapi.events.Event;
+import org.kuroneko.inflearnrestapi.events.EventLinks;
+import org.kuroneko.inflearnrestapi.events.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Optional;
+
+@Controller
+@RequestMapping(value = "/api/events/{eventId}/enrollments", produces = MediaTypes.HAL_JSON_VALUE)
+public class EnrollmentController {
+
+    @Autowired private EventRepository eventRepository;
+    @Autowired private EnrollmentRepository enrollmentRepository;
+    @Autowired private EnrollmentService enrollmentService;
+    @Autowired private EventLinks eventLinks;
+
+    @PostMapping
+    public ResponseEntity enroll(@PathVariable Integer eventId, @CurrentAccount Account account) {
+        Optional<Event> optionalEvent = this.eventRepository.findById(eventId);
+
+        if (optionalEvent.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Enrollment enrollment = this.enrollmentService.enroll(optionalEvent.get(), account);
+        Link enrollments = this.eventLinks.enrollments(eventId, "cancel-enrollment");
+
+        EnrollmentResource resource = new EnrollmentResource(enrollment);
+        resource.add(this.eventLinks.item(eventId, "event"));
+        resource.add(enrollments);
+        resource.add(this.eventLinks.profile("resources-enrollments-create"));
+
+        return ResponseEntity.created(URI.create(enrollments.getHref())).body(resource);
+    }
+
+    @DeleteMapping
+    public ResponseEntity cancel(@PathVariable Integer eventId, @CurrentAccount Account account) {
+        Optional<Event> optionalEvent = this.eventRepository.findById(eventId);
+
+        if (optionalEvent.isEmpty() || !this.enrollmentService.cancel(optionalEvent.get(), account)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.noContent().build();
+    }
+
+    //이벤트 manager만 신청 목록을 볼 수 있다.
+    @GetMapping
+    public ResponseEntity queryEnrollments(@PathVariable Integer eventId,
+                                           Pageable pageable,
+                                           PagedResourcesAssembler<Enrollment> assembler,
+                                           @CurrentAccount Account account) {
+        Optional<Event> optionalEvent = this.eventRepository.findById(eventId);
+
+        if (optionalEvent.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (!optionalEvent.get().getManager().equals(account)) {
+            return new ResponseEntity(HttpStatus.UNAUTHORIZED);
+        }
+
+        Page<Enrollment> page = this.enrollmentRepository.findByEventId(eventId, pageable);
+        var pagedModel = assembler.toModel(page, EnrollmentResource::new);
+        pagedModel.add(this.eventLinks.item(eventId, "event"));
+        pagedModel.add(this.eventLinks.profile("resources-enrollments-list"));
+
+        return ResponseEntity.ok(pagedModel);
+    }
+
+    @ExceptionHandler(EnrollmentRejectedException.class)
+    public ResponseEntity<ErrorsResource> rejected(EnrollmentRejectedException exception) {
+        Errors errors = new MapBindingResult(new HashMap<>(), "enrollment");
+        errors.reject(exception.getCode(), exception.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorsResource(errors));
+    }
+}
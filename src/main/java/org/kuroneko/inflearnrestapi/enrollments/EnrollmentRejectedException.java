@@ -0,0 +1,15 @@
+package org.kuroneko.inflearnrestapi.enrollments;
+
+import lombok.Getter;
+
+//신청할 수 없을 때. code는 응답 errors의 code로 쓴다.
+@Getter
+public class EnrollmentRejectedException extends RuntimeException {
+
+    private final String code;
+
+    public EnrollmentRejectedException(String code, String message) {
+        super(message);
+        this.code = code;
+    }
+}
@@ -0,0 +1,20 @@
+package org.kuroneko.inflearnrestapi.enrollments;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Integer> {
+
+    boolean existsByEventIdAndAccountId(Integer eventId, Integer accountId);
+
+    //지운 행 수를 돌려주므로 동시에 취소해도 한 요청만 1 을 받는다.
+    @Modifying
+    @Query("delete from Enrollment e where e.event.id = :eventId and e.account.id = :accountId")
+    int deleteEnrollment(Integer eventId, Integer accountId);
+
+    Page<Enrollment> findByEventId(Integer eventId, Pageable pageable);
+}
@@ -0,0 +1,12 @@
+package org.kuroneko.inflearnrestapi.enrollments;
+
+import lombok.NoArgsConstructor;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+
+@NoArgsConstructor
+public class EnrollmentResource extends EntityModel<Enrollment> {
+    public EnrollmentResource(Enrollment enrollment, Link... links) {
+        super(enrollment, links);
+    }
+}
@@ -0,0 +1,147 @@
+package org.kuroneko.inflearnrestapi.enrollments;
+
+import org.kuroneko.inflearnrestapi.account.Account;
+import org.kuroneko.inflearnrestapi.events.Event;
+import org.kuroneko.inflearnrestapi.events.EventChange;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+    신청 인원은 두 단계로 센다.
+    1. 이벤트마다 메모리의 SeatGate에서 먼저 자리를 잡는다. 자리가 없으면 DB까지 가지 않고 바로 거절한다.
+    2. 자리를 잡은 요청만 EventSeats에 조건부 update를 해서 DB 기준으로도 초과하지 않는지 확인한다.
+    SeatGate는 노드마다 따로 있으므로 DB가 거절하거나 오래되면 DB 값으로 다시 맞춘다.
+ */
+@Service
+public class EnrollmentService {
+
+    private static final long RESYNC_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    @Autowired private EnrollmentRepository enrollmentRepository;
+    @Autowired private EventSeatsRepository eventSeatsRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private final Map<Integer, SeatGate> gates = new ConcurrentHashMap<>();
+    private final Set<Integer> seatsCreated = ConcurrentHashMap.newKeySet();
+
+    public Enrollment enroll(Event event, Account account) {
+        if (this.enrollmentRepository.existsByEventIdAndAccountId(event.getId(), account.getId())) {
+            throw alreadyEnrolled();
+        }
+        createSeatsIfAbsent(event.getId());
+
+        int limit = event.getLimitOfEnrollment();
+        SeatGate gate = limit == 0 ? null : acquire(event);
+        try {
+            return this.transactionTemplate.execute(status -> {
+                if (this.eventSeatsRepository.reserve(event.getId(), limit) == 0) {
+                    throw soldOut();
+                }
+                Enrollment enrollment = Enrollment.builder()
+                        .event(event)
+                        .account(account)
+                        .enrolledAt(LocalDateTime.now())
+                        .build();
+                return this.enrollmentRepository.saveAndFlush(enrollment);
+            });
+        } catch (EnrollmentRejectedException e) {
+            //다른 노드에서 자리가 찼다. 잡은 자리는 돌려주지 않고 다음 요청에서 DB 값으로 다시 맞춘다.
+            if (gate != null) {
+                this.gates.remove(event.getId(), gate);
+            }
+            throw e;
+        } catch (DataIntegrityViolationException e) {
+            release(gate);
+            throw alreadyEnrolled();
+        } catch (RuntimeException e) {
+            release(gate);
+            throw e;
+        }
+    }
+
+    //신청한 적이 없거나 다른 요청이 먼저 취소했으면 false, 실제로 지운 요청만 자리를 돌려준다.
+    public boolean cancel(Event event, Account account) {
+        Boolean deleted = this.transactionTemplate.execute(status -> {
+            if (this.enrollmentRepository.deleteEnrollment(event.getId(), account.getId()) == 0) {
+                return false;
+            }
+            this.eventSeatsRepository.release(event.getId());
+            return true;
+        });
+        if (Boolean.TRUE.equals(deleted)) {
+            release(this.gates.get(event.getId()));
+            return true;
+        }
+        return false;
+    }
+
+    //limitOfEnrollment가 바뀌었을 수 있으므로 다음 신청에서 다시 만든다.
+    @EventListener
+    public void onEventChange(EventChange change) {
+        if (change.getType() == EventChange.Type.UPDATED) {
+            this.gates.remove(change.getEvent().getId());
+        }
+    }
+
+    private SeatGate acquire(Event event) {
+        SeatGate gate = this.gates.computeIfAbsent(event.getId(), id -> newGate(event));
+        if (gate.tryAcquire()) {
+            return gate;
+        }
+        //다른 노드에서 취소된 자리를 반영하기 위해 오래된 gate는 DB 값으로 다시 만든다.
+        if (System.nanoTime() - gate.getCreatedAt() > RESYNC_NANOS) {
+            this.gates.remove(event.getId(), gate);
+            gate = this.gates.computeIfAbsent(event.getId(), id -> newGate(event));
+            if (gate.tryAcquire()) {
+                return gate;
+            }
+        }
+        throw soldOut();
+    }
+
+    private SeatGate newGate(Event event) {
+        int enrolled = this.eventSeatsRepository.findById(event.getId())
+                .map(EventSeats::getEnrolled)
+                .orElse(0);
+        return new SeatGate(Math.max(0, event.getLimitOfEnrollment() - enrolled));
+    }
+
+    private void createSeatsIfAbsent(Integer eventId) {
+        if (this.seatsCreated.contains(eventId)) {
+            return;
+        }
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> {
+                if (!this.eventSeatsRepository.existsById(eventId)) {
+                    this.eventSeatsRepository.saveAndFlush(new EventSeats(eventId, 0));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            //다른 요청이 먼저 만들었다.
+        }
+        this.seatsCreated.add(eventId);
+    }
+
+    private void release(SeatGate gate) {
+        if (gate != null) {
+            gate.release();
+        }
+    }
+
+    private EnrollmentRejectedException alreadyEnrolled() {
+        return new EnrollmentRejectedException("alreadyEnrolled", "Account already enrolled in this event");
+    }
+
+    private EnrollmentRejectedException soldOut() {
+        return new EnrollmentRejectedException("soldOut", "No seats left for this event");
+    }
+}
@@ -0,0 +1,22 @@
+package org.kuroneko.inflearnrestapi.enrollments;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/*
+    이벤트별 신청 인원.
+    Event 행에 두면 신청할 때마다 이벤트 수정과 같은 행을 잠그고 2차 캐시의 event region도 비워지므로 따로 둔다.
+ */
+@Entity
+@Getter @NoArgsConstructor @AllArgsConstructor
+public class EventSeats {
+
+    @Id
+    private Integer eventId;
+
+    private int enrolled;
+}
@@ -0,0 +1,18 @@
+package org.kuroneko.inflearnrestapi.enrollments;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface EventSeatsRepository extends JpaRepository<EventSeats, Integer> {
+
+    //자리가 남아있을 때만 1 증가시킨다. limit이 0 이면 제한이 없다.
+    @Modifying
+    @Query("update EventSeats s set s.enrolled = s.enrolled + 1 " +
+            "where s.eventId = :eventId and (:limit = 0 or s.enrolled < :limit)")
+    int reserve(Integer eventId, int limit);
+
+    @Modifying
+    @Query("update EventSeats s set s.enrolled = s.enrolled - 1 where s.eventId = :eventId and s.enrolled > 0")
+    int release(Integer eventId);
+}
@@ -0,0 +1,56 @@
+package org.kuroneko.inflearnrestapi.enrollments;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/*
+    한 이벤트의 남은 자리를 여러 칸에 나눠 담은 메모리 카운터.
+    스레드마다 다른 칸에서 CAS로 자리를 가져가서 한 값에 경합이 몰리지 않게 하고,
+    자기 칸이 비면 다른 칸을 둘러본다. 모든 칸이 비어야 자리가 없는 것이다.
+ */
+class SeatGate {
+
+    private static final int MAX_STRIPES = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2);
+
+    private final AtomicIntegerArray stripes;
+    private final long createdAt = System.nanoTime();
+
+    SeatGate(int available) {
+        int size = Math.max(1, Math.min(MAX_STRIPES, available));
+        this.stripes = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            this.stripes.set(i, available / size + (i < available % size ? 1 : 0));
+        }
+    }
+
+    boolean tryAcquire() {
+        int size = this.stripes.length();
+        int start = ThreadLocalRandom.current().nextInt(size);
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+            int seats;
+            while ((seats = this.stripes.get(index)) > 0) {
+                if (this.stripes.compareAndSet(index, seats, seats - 1)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    void release() {
+        this.stripes.incrementAndGet(ThreadLocalRandom.current().nextInt(this.stripes.length()));
+    }
+
+    int available() {
+        int sum = 0;
+        for (int i = 0; i < this.stripes.length(); i++) {
+            sum += this.stripes.get(i);
+        }
+        return sum;
+    }
+
+    long getCreatedAt() {
+        return this.createdAt;
+    }
+}
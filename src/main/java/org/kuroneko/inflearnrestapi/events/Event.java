@@ -1,7 +1,14 @@
 package org.kuroneko.inflearnrestapi.events;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.kuroneko.inflearnrestapi.account.Account;
 import org.kuroneko.inflearnrestapi.account.AccountSerializer;
 
@@ -9,11 +16,29 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_event_begin_id", columnList = "beginEventDateTime,id"),
+        @Index(name = "idx_event_status_begin", columnList = "eventStatus,beginEventDateTime"),
+        @Index(name = "idx_event_free_offline_begin", columnList = "free,offline,beginEventDateTime"),
+        @Index(name = "idx_event_price", columnList = "basePrice,maxPrice"),
+        @Index(name = "idx_event_next_transition", columnList = "nextTransitionAt")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "event")
+@DynamicUpdate
+@NamedEntityGraph(name = Event.WITH_MANAGER, attributeNodes = @NamedAttributeNode("manager"))
 @Builder @AllArgsConstructor
 @NoArgsConstructor @Getter @Setter @EqualsAndHashCode(of = "id")
 public class Event {
 
-    @Id @GeneratedValue
+    //목록, 상세 조회에서 manager를 같이 가져오는 fetch plan
+    public static final String WITH_MANAGER = "Event.withManager";
+
+    //batch insert를 위해 sequence를 50개 단위로 미리 할당받는다. 미리 받아둔 id가 있으면 그대로 쓴다.
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
+    @GenericGenerator(name = "event_seq", strategy = "org.kuroneko.inflearnrestapi.events.EventIdGenerator", parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "event_seq"),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50")
+    })
     private Integer id;
     private String name;
     private String description;
@@ -34,6 +59,19 @@ public class Event {
     @Enumerated(EnumType.STRING) @Builder.Default
     private EventStatus eventStatus = EventStatus.DRAFT;
 
+    //ETag로 사용한다.
+    @Version @JsonIgnore
+    private Long version;
+
+    //다음 상태 전이 시각. EventLifecycleScheduler가 이 값의 범위로 예약할 이벤트를 읽는다.
+    @JsonIgnore
+    private LocalDateTime nextTransitionAt;
+
+    @PrePersist @PreUpdate
+    public void nextTransitionUpdate() {
+        this.nextTransitionAt = EventTimeline.of(this).nextAt();
+    }
+
     public void freeUpdate() {
         if (this.basePrice == 0 && this.maxPrice == 0) {
             this.free = true;
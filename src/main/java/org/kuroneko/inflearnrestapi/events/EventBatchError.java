@@ -0,0 +1,17 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import lombok.Getter;
+import org.springframework.validation.Errors;
+
+//batch 요청에서 index 번째 항목의 검증 오류
+@Getter
+public class EventBatchError {
+
+    private final int index;
+    private final Errors errors;
+
+    public EventBatchError(int index, Errors errors) {
+        this.index = index;
+        this.errors = errors;
+    }
+}
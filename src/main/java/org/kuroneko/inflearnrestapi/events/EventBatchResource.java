@@ -0,0 +1,19 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import org.springframework.hateoas.CollectionModel;
+
+import java.util.List;
+
+public class EventBatchResource extends CollectionModel<EventResource> {
+
+    private final List<EventBatchError> errors;
+
+    public EventBatchResource(List<EventResource> events, List<EventBatchError> errors) {
+        super(events);
+        this.errors = errors;
+    }
+
+    public List<EventBatchError> getErrors() {
+        return errors;
+    }
+}
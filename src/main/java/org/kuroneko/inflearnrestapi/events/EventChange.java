@@ -0,0 +1,36 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import lombok.Getter;
+
+/*
+    이벤트가 저장된 후에 발행되는 애플리케이션 이벤트
+    검색 색인처럼 Event 테이블을 다시 읽지 않고 유지해야 하는 것들이 구독한다.
+ */
+@Getter
+public class EventChange {
+
+    public enum Type {
+        CREATED, UPDATED, STATUS_CHANGED
+    }
+
+    private final Type type;
+    private final Event event;
+
+    public EventChange(Type type, Event event) {
+        this.type = type;
+        this.event = event;
+    }
+
+    public static EventChange created(Event event) {
+        return new EventChange(Type.CREATED, event);
+    }
+
+    public static EventChange updated(Event event) {
+        return new EventChange(Type.UPDATED, event);
+    }
+
+    //공개하거나 날짜에 따라 EventStatus만 바뀐 경우
+    public static EventChange statusChanged(Event event) {
+        return new EventChange(Type.STATUS_CHANGED, event);
+    }
+}
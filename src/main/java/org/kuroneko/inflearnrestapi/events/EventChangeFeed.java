@@ -0,0 +1,332 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+    이벤트 변경 알림 SSE.
+    최근 변경을 고정 크기 링 버퍼에 순번과 함께 쌓고, 구독자마다 writer 스레드가 마지막으로 보낸 순번 이후의 변경을 버퍼에서 읽어 보낸다.
+    구독자별로 따로 보내므로 느린 구독자가 다른 구독자를 막지 않고, 버퍼 크기보다 밀린 구독자는 연결을 끊는다.
+    보내기가 send-timeout 보다 오래 막힌 구독자도 끊고, 그 writer 스레드가 돌아올 때까지 writer를 하나 더 둬서
+    막힌 구독자가 writer 수보다 많아도 나머지 구독자는 계속 받는다.
+    끊긴 구독자는 다시 연결해서 Last-Event-ID로 이어 받거나 RESET을 받는다.
+    구독자가 아무리 많아도 DB는 읽지 않고, 변경이 몰려도 writer를 깨우는 작업은 한번만 예약된다.
+    알림 id는 "<서버 시작마다 만드는 epoch>-<순번>" 이다. 재시작했거나 다른 서버에서 받은 id, 버퍼에서 이미 밀려난 id로
+    재연결하면 이어서 보낼 수 없으므로 RESET을 보내고 지금부터 보낸다.
+ */
+@Slf4j
+@Component
+public class EventChangeFeed {
+
+    static final String RESET = "RESET";
+    private static final long TIMEOUT = Duration.ofMinutes(30).toMillis();
+    private static final long HEARTBEAT_SECONDS = 15;
+
+    @Value("${my-app.event-changes.buffer-size:1024}")
+    private int bufferSize;
+    @Value("${my-app.event-changes.writer-threads:4}")
+    private int writerThreads;
+    @Value("${my-app.event-changes.send-timeout:5s}")
+    private Duration sendTimeout;
+
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+    //buffer, latest는 this로 동기화한다.
+    private EventChangeRecord[] buffer;
+    private long latest;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "event-changes");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ThreadPoolExecutor writers;
+
+    @PostConstruct
+    public void init() {
+        this.buffer = new EventChangeRecord[this.bufferSize];
+        AtomicInteger threadCount = new AtomicInteger();
+        this.writers = new ThreadPoolExecutor(this.writerThreads, this.writerThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "event-changes-writer-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        //끊어진 연결은 보낼 때에만 알 수 있으므로 변경이 없어도 주기적으로 주석을 보낸다.
+        this.dispatcher.scheduleAtFixedRate(this::heartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+        long checkMillis = Math.max(10, this.sendTimeout.toMillis() / 2);
+        this.dispatcher.scheduleAtFixedRate(this::dropStalled, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.dispatcher.shutdownNow();
+        this.subscribers.forEach(this::close);
+        this.writers.shutdown();
+    }
+
+    @EventListener
+    public void onEventChange(EventChange change) {
+        Event event = change.getEvent();
+        synchronized (this) {
+            long sequence = ++this.latest;
+            this.buffer[(int) (sequence % this.bufferSize)] =
+                    new EventChangeRecord(sequence, change.getType(), event.getId(), event.getEventStatus(), LocalDateTime.now());
+        }
+        scheduleDispatch();
+    }
+
+    public synchronized long latestSequence() {
+        return this.latest;
+    }
+
+    //sequence 번째 변경의 알림 id
+    String eventId(long sequence) {
+        return this.epoch + "-" + sequence;
+    }
+
+    //lastEventId 이후의 변경부터 보낸다. 없으면 구독한 이후의 변경만 보낸다.
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(new SseEmitter(TIMEOUT), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, String lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter);
+        synchronized (this) {
+            Long sequence = lastEventId == null ? Long.valueOf(this.latest) : sequenceOf(lastEventId);
+            if (sequence == null || !isBuffered(sequence)) {
+                sequence = this.latest;
+                subscriber.resetPending = true;
+            }
+            subscriber.cursor = sequence;
+        }
+        //컨테이너가 이미 끝낸 연결이므로 complete 하지 않고 목록에서만 뺀다.
+        Runnable closed = () -> {
+            subscriber.completed.set(true);
+            close(subscriber);
+        };
+        emitter.onCompletion(closed);
+        emitter.onTimeout(closed);
+        emitter.onError(e -> closed.run());
+        this.subscribers.add(subscriber);
+        scheduleWrite(subscriber);
+        return emitter;
+    }
+
+    int subscriberCount() {
+        return this.subscribers.size();
+    }
+
+    //이 서버가 이번에 시작한 뒤 만든 id가 아니면 null
+    private Long sequenceOf(String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(this.epoch)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void scheduleDispatch() {
+        if (this.dispatchScheduled.compareAndSet(false, true)) {
+            this.dispatcher.execute(() -> {
+                this.dispatchScheduled.set(false);
+                dispatch();
+            });
+        }
+    }
+
+    //보내기가 막혀서 버퍼 크기보다 밀린 구독자는 끊고 나머지 writer를 깨운다.
+    private void dispatch() {
+        for (Subscriber subscriber : this.subscribers) {
+            if (!isBuffered(subscriber.cursor)) {
+                log.debug("Dropping event change subscriber lagging more than {} events", this.bufferSize);
+                close(subscriber);
+            } else {
+                scheduleWrite(subscriber);
+            }
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : this.subscribers) {
+            subscriber.heartbeatPending = true;
+        }
+        dispatch();
+    }
+
+    //보내기가 막힌 구독자를 끊고 그 writer 대신 보낼 writer를 하나 늘린다.
+    private void dropStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : this.subscribers) {
+            long startedAt = subscriber.sendStartedAt;
+            if (startedAt != 0 && now - startedAt > this.sendTimeout.toNanos() && addWriterFor(subscriber)) {
+                log.debug("Dropping event change subscriber blocked for more than {}", this.sendTimeout);
+                subscriber.error = new IOException("Sending event changes timed out");
+                close(subscriber);
+            }
+        }
+    }
+
+    private synchronized boolean addWriterFor(Subscriber subscriber) {
+        if (subscriber.stalled) {
+            return false;
+        }
+        subscriber.stalled = true;
+        int size = this.writers.getCorePoolSize() + 1;
+        this.writers.setMaximumPoolSize(size);
+        this.writers.setCorePoolSize(size);
+        return true;
+    }
+
+    private synchronized void removeWriterFor(Subscriber subscriber) {
+        if (!subscriber.stalled) {
+            return;
+        }
+        subscriber.stalled = false;
+        int size = this.writers.getCorePoolSize() - 1;
+        this.writers.setCorePoolSize(size);
+        this.writers.setMaximumPoolSize(size);
+    }
+
+    private void scheduleWrite(Subscriber subscriber) {
+        if (subscriber.writing.compareAndSet(false, true)) {
+            this.writers.execute(() -> write(subscriber));
+        }
+    }
+
+    //구독자마다 한 스레드만 보낸다. 연결이 막혀 있으면 컨테이너의 쓰기 timeout까지 이 구독자의 writer만 기다린다.
+    private void write(Subscriber subscriber) {
+        try {
+            while (!subscriber.closed) {
+                if (subscriber.resetPending) {
+                    send(subscriber, SseEmitter.event().id(eventId(subscriber.cursor)).name(RESET).data(""));
+                    subscriber.resetPending = false;
+                    continue;
+                }
+                List<EventChangeRecord> records = readAfter(subscriber.cursor);
+                if (records == null) {
+                    close(subscriber);
+                    break;
+                }
+                if (records.isEmpty()) {
+                    if (subscriber.heartbeatPending) {
+                        subscriber.heartbeatPending = false;
+                        send(subscriber, SseEmitter.event().comment(""));
+                    }
+                    break;
+                }
+                for (EventChangeRecord record : records) {
+                    send(subscriber, SseEmitter.event()
+                            .id(eventId(record.getSequence()))
+                            .name(record.getType().name())
+                            .data(record, MediaType.APPLICATION_JSON));
+                    subscriber.cursor = record.getSequence();
+                }
+                subscriber.heartbeatPending = false;
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping event change subscriber", e);
+            if (subscriber.error == null) {
+                subscriber.error = e;
+            }
+            close(subscriber);
+        } finally {
+            subscriber.writing.set(false);
+        }
+        //막혀서 늘렸던 writer를 되돌린다.
+        removeWriterFor(subscriber);
+
+        if (subscriber.closed) {
+            if (subscriber.completed.compareAndSet(false, true)) {
+                if (subscriber.error != null) {
+                    subscriber.emitter.completeWithError(subscriber.error);
+                } else {
+                    subscriber.emitter.complete();
+                }
+            }
+        } else if (subscriber.cursor < latestSequence() || subscriber.heartbeatPending) {
+            scheduleWrite(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        subscriber.sendStartedAt = System.nanoTime();
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            subscriber.sendStartedAt = 0;
+        }
+    }
+
+    //목록에서 빼고 연결은 writer 스레드에서 끝낸다.
+    private void close(Subscriber subscriber) {
+        this.subscribers.remove(subscriber);
+        subscriber.closed = true;
+        if (!this.writers.isShutdown()) {
+            scheduleWrite(subscriber);
+        }
+    }
+
+    //after 이후의 변경이 모두 버퍼에 남아있는지
+    private synchronized boolean isBuffered(long after) {
+        long oldest = Math.max(1, this.latest - this.bufferSize + 1);
+        return after <= this.latest && after + 1 >= oldest;
+    }
+
+    //after 이후의 변경. 버퍼에서 밀려났으면 null
+    private synchronized List<EventChangeRecord> readAfter(long after) {
+        if (!isBuffered(after)) {
+            return null;
+        }
+        List<EventChangeRecord> records = new ArrayList<>((int) (this.latest - after));
+        for (long sequence = after + 1; sequence <= this.latest; sequence++) {
+            records.add(this.buffer[(int) (sequence % this.bufferSize)]);
+        }
+        return records;
+    }
+
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean writing = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        //send-timeout 보다 오래 막혀서 writer를 하나 늘렸는지, EventChangeFeed로 동기화한다.
+        private boolean stalled;
+        //보내는 중이면 시작한 System.nanoTime(), 아니면 0
+        private volatile long sendStartedAt;
+        //writer 스레드만 바꾼다.
+        private volatile long cursor;
+        private volatile boolean resetPending;
+        private volatile boolean heartbeatPending;
+        private volatile boolean closed;
+        private volatile Exception error;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
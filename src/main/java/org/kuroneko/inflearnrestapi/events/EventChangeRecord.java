@@ -0,0 +1,26 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+//GET /api/events/changes 로 보내는 변경 알림. 이벤트 내용은 id로 다시 조회한다.
+@Getter
+public class EventChangeRecord {
+
+    @JsonIgnore
+    private final long sequence;
+    private final EventChange.Type type;
+    private final Integer id;
+    private final EventStatus eventStatus;
+    private final LocalDateTime changedAt;
+
+    public EventChangeRecord(long sequence, EventChange.Type type, Integer id, EventStatus eventStatus, LocalDateTime changedAt) {
+        this.sequence = sequence;
+        this.type = type;
+        this.id = id;
+        this.eventStatus = eventStatus;
+        this.changedAt = changedAt;
+    }
+}
@@ -1,43 +1,109 @@
 package org.kuroneko.inflearnrestapi.events;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.sun.istack.Nullable;
 import org.kuroneko.inflearnrestapi.account.Account;
 import org.kuroneko.inflearnrestapi.account.AccountAdapter;
 import org.kuroneko.inflearnrestapi.account.CurrentAccount;
+import org.kuroneko.inflearnrestapi.commons.DatabaseExecutor;
 import org.kuroneko.inflearnrestapi.commons.ErrorsResource;
-import org.modelmapper.ModelMapper;
+import org.kuroneko.inflearnrestapi.commons.IdempotencyKeys;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Controller;
+import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 
 @Controller
 @RequestMapping(value = "/api/events", produces = "application/hal+json;charset=UTF-8")
 public class EventController {
 
+    private static final int MAX_PAGE_SIZE = 2000;
+    private static final int MAX_BATCH_SIZE = 5000;
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    static final String TEXT_CSV_VALUE = "text/csv";
+    //RFC 7240
+    static final String PREFER = "Prefer";
+    static final String PREFERENCE_APPLIED = "Preference-Applied";
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+
     @Autowired private EventRepository eventRepository;
-    @Autowired private ModelMapper modelMapper;
+    @Autowired private EventMapper eventMapper;
     @Autowired private EventValidator eventValidator;
+    @Autowired private EventCursorAssembler cursorAssembler;
+    @Autowired private EventLinks eventLinks;
+    @Autowired private EventImporter eventImporter;
+    @Autowired private EventMergePatch eventMergePatch;
+    @Autowired private EventStatistics eventStatistics;
+    @Autowired private EventSuggester eventSuggester;
+    @Autowired private EventWriteBehind eventWriteBehind;
+    @Autowired private EventChangeFeed eventChangeFeed;
+    @Autowired private IdempotencyKeys idempotencyKeys;
+    @Autowired private DatabaseExecutor databaseExecutor;
+    @Autowired private EventSearchIndex eventSearchIndex;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+    @Autowired private EventService eventService;
+    @Autowired private Validator validator;
 
     @PostMapping
-    public ResponseEntity createEvent(@RequestBody @Valid EventDTO eventDTO, Errors errors, @CurrentAccount Account account){
+    public ResponseEntity createEvent(@RequestBody @Valid EventDTO eventDTO, Errors errors, @CurrentAccount Account account,
+                                      @RequestHeader(value = PREFER, required = false) String prefer,
+                                      @RequestHeader(value = IdempotencyKeys.HEADER, required = false) String idempotencyKey){
+        if (idempotencyKey != null) {
+            return this.idempotencyKeys.execute(account, "create", idempotencyKey, eventDTO,
+                    () -> createEvent(eventDTO, errors, account, prefer));
+        }
+        return createEvent(eventDTO, errors, account, prefer);
+    }
+
+    private ResponseEntity createEvent(EventDTO eventDTO, Errors errors, Account account, String prefer) {
         if(errors.hasErrors()){
             return badRequest(errors);
         }
@@ -48,67 +114,379 @@ public class EventController {
             return badRequest(errors);
         }
 
-        Event event = modelMapper.map(eventDTO, Event.class);
+        Event event = eventMapper.toEvent(eventDTO);
         event.freeUpdate();
         event.offlineUpdate();
         event.setManager(account);
+        if (EventWriteBehind.prefersAsync(prefer)) {
+            return createEventAsync(event);
+        }
         Event newEvent = this.eventRepository.save(event);
-        WebMvcLinkBuilder selfLink = linkTo(EventController.class).slash(newEvent.getId());
-        URI uri = selfLink.toUri();
+        this.eventPublisher.publishEvent(EventChange.created(newEvent));
+        Link selfLink = this.eventLinks.self(newEvent.getId());
+        URI uri = URI.create(selfLink.getHref());
 
-        EventResource eventResource = new EventResource(event);
-        eventResource.add(linkTo(EventController.class).withRel("query-events"));
+        EventResource eventResource = new EventResource(event, selfLink);
+        eventResource.add(this.eventLinks.collection("query-events"));
         eventResource.add(selfLink.withRel("update-event"));
-        eventResource.add(new Link("/docs/index.html#resources-events-create").withRel("profile"));
+        eventResource.add(this.eventLinks.profile("resources-events-create"));
 
         return ResponseEntity.created(uri).body(eventResource);
     }
 
+    //저장은 EventWriteBehind가 나중에 하고 id와 상태 조회 링크만 먼저 응답한다.
+    private ResponseEntity createEventAsync(Event event) {
+        if (!this.eventWriteBehind.submit(event)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        EntityModel<EventWriteResult> model = writeStatusModel(event.getId(), EventWriteStatus.PENDING);
+        model.add(this.eventLinks.profile("resources-events-create-async"));
+        return ResponseEntity.accepted()
+                .location(URI.create(model.getRequiredLink(IanaLinkRelations.SELF).getHref()))
+                .header(PREFERENCE_APPLIED, "respond-async")
+                .body(model);
+    }
+
+    @GetMapping("/{id}/write-status")
+    public ResponseEntity queryWriteStatus(@PathVariable Integer id) {
+        Optional<EventWriteStatus> status = this.eventWriteBehind.statusOf(id);
+        if (status.isEmpty() && this.eventRepository.existsById(id)) {
+            status = Optional.of(EventWriteStatus.CREATED);
+        }
+        if (status.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        EntityModel<EventWriteResult> model = writeStatusModel(id, status.get());
+        model.add(this.eventLinks.profile("resources-events-write-status"));
+        return ResponseEntity.ok(model);
+    }
+
+    private EntityModel<EventWriteResult> writeStatusModel(Integer id, EventWriteStatus status) {
+        EntityModel<EventWriteResult> model = EntityModel.of(new EventWriteResult(id, status));
+        model.add(new Link(this.eventLinks.self(id).getHref() + "/write-status").withSelfRel());
+        if (status != EventWriteStatus.FAILED) {
+            model.add(this.eventLinks.item(id, "event"));
+        }
+        return model;
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity createEvents(@RequestBody List<EventDTO> eventDTOs, @CurrentAccount Account account,
+                                       @RequestHeader(value = IdempotencyKeys.HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey != null) {
+            return this.idempotencyKeys.execute(account, "batch", idempotencyKey, eventDTOs,
+                    () -> createEvents(eventDTOs, account));
+        }
+        return createEvents(eventDTOs, account);
+    }
+
+    private ResponseEntity createEvents(List<EventDTO> eventDTOs, Account account) {
+        if (eventDTOs.isEmpty() || eventDTOs.size() > MAX_BATCH_SIZE) {
+            Errors errors = new BeanPropertyBindingResult(eventDTOs, "eventDTOs");
+            errors.reject("wrongSize", "Batch must contain 1 to " + MAX_BATCH_SIZE + " events");
+            return badRequest(errors);
+        }
+
+        SpringValidatorAdapter beanValidator = new SpringValidatorAdapter(this.validator);
+        List<Event> events = new ArrayList<>();
+        List<EventBatchError> batchErrors = new ArrayList<>();
+        for (int i = 0; i < eventDTOs.size(); i++) {
+            EventDTO eventDTO = eventDTOs.get(i);
+            Errors errors = new BeanPropertyBindingResult(eventDTO, "eventDTO");
+            beanValidator.validate(eventDTO, errors);
+            //bean validation을 통과한 경우에만 날짜 비교가 가능하다.
+            if (!errors.hasErrors()) {
+                this.eventValidator.validate(eventDTO, errors);
+            }
+            if (errors.hasErrors()) {
+                batchErrors.add(new EventBatchError(i, errors));
+                continue;
+            }
+
+            Event event = eventMapper.toEvent(eventDTO);
+            event.freeUpdate();
+            event.offlineUpdate();
+            event.setManager(account);
+            events.add(event);
+        }
+
+        List<Event> newEvents = events.isEmpty() ? events : this.eventService.createAll(events);
+        newEvents.forEach(e -> this.eventPublisher.publishEvent(EventChange.created(e)));
+
+        List<EventResource> resources = newEvents.stream()
+                .map(this.eventLinks::toResource)
+                .collect(Collectors.toList());
+        EventBatchResource batchResource = new EventBatchResource(resources, batchErrors);
+        batchResource.add(this.eventLinks.collection("query-events"));
+        batchResource.add(this.eventLinks.profile("resources-events-batch"));
+
+        HttpStatus status = newEvents.isEmpty() ? HttpStatus.BAD_REQUEST : HttpStatus.CREATED;
+        return ResponseEntity.status(status).body(batchResource);
+    }
+
+    //요청 본문을 읽으면서 줄마다 처리 결과를 바로 응답에 쓴다.
+    @PostMapping(value = "/import", consumes = {APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE}, produces = APPLICATION_NDJSON_VALUE)
+    public void importEvents(HttpServletRequest request, HttpServletResponse response, @CurrentAccount Account account,
+                             @RequestHeader(value = IdempotencyKeys.HEADER, required = false) String idempotencyKey) throws IOException {
+        //결과를 바로 응답에 쓰므로 저장해둘 응답이 없다. 같은 키로 다시 가져오기를 요청하면 409로 응답한다.
+        if (idempotencyKey != null && !this.idempotencyKeys.claim(account, "import", idempotencyKey)) {
+            response.sendError(HttpStatus.CONFLICT.value(), "Import with this Idempotency-Key was already submitted");
+            return;
+        }
+        try {
+            importEvents(request, response, account);
+        } catch (IOException | RuntimeException e) {
+            if (idempotencyKey != null && !response.isCommitted()) {
+                this.idempotencyKeys.release(account, "import", idempotencyKey);
+                idempotencyKey = null;
+            }
+            throw e;
+        } finally {
+            //응답을 쓰기 시작했으면 일부는 처리되었으므로 다시 받지 않는다.
+            if (idempotencyKey != null) {
+                this.idempotencyKeys.complete(account, "import", idempotencyKey);
+            }
+        }
+    }
+
+    private void importEvents(HttpServletRequest request, HttpServletResponse response, Account account) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        EventImporter.Format format = contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))
+                ? EventImporter.Format.CSV : EventImporter.Format.NDJSON;
+        Charset charset = Optional.ofNullable(contentType.getCharset()).orElse(StandardCharsets.UTF_8);
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        Reader reader = new InputStreamReader(request.getInputStream(), charset);
+        this.eventImporter.importEvents(reader, format, account, response.getOutputStream());
+    }
+
+    //If-Match가 없으면 조건 없이 수정한다.
+    private boolean preconditionFailed(String ifMatch, Event event, Account account) {
+        return ifMatch != null && !EventETags.matchesStrong(ifMatch, EventETags.of(EventVersion.of(event), account));
+    }
+
+    //If-Match 검사 후 저장하기 전에 다른 요청이 먼저 수정한 경우
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorsResource> conflict(ObjectOptimisticLockingFailureException exception) {
+        Errors errors = new MapBindingResult(new HashMap<>(), "event");
+        errors.reject("conflict", "Event was modified concurrently");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorsResource(errors));
+    }
+
+    //DB executor가 가득 찼거나 제 시간에 조회하지 못한 경우
+    @ExceptionHandler({RejectedExecutionException.class, TimeoutException.class})
+    public ResponseEntity serviceUnavailable(Exception exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+    }
+
+    //DB 작업에서 정한 상태와 헤더는 그대로 두고 본문만 링크를 붙인 model로 바꾼다.
+    private <T> Function<ResponseEntity<T>, ResponseEntity> withModel(Function<T, ?> toModel) {
+        return response -> response.hasBody()
+                ? new ResponseEntity<>(toModel.apply(response.getBody()), response.getHeaders(), response.getStatusCode())
+                : response;
+    }
+
     private ResponseEntity<ErrorsResource> badRequest(Errors errors) {
         return ResponseEntity.badRequest().body(new ErrorsResource(errors));
     }
 
     //@AuthenticationPrincipal를 이용하면 getPrincipal로 받을 수 있는 객체를 바로 주입받을 수 있다.
     @GetMapping
-    public ResponseEntity queryEvents(Pageable pageable,
-                                      PagedResourcesAssembler<Event> assembler,
-                                      @CurrentAccount Account account) {
-        Page<Event> page = this.eventRepository.findAll(pageable);
-        var pagedModel = assembler.toModel(page, e -> new EventResource(e));
-        pagedModel.add(new Link("/docs/index.html#resources-events-list").withRel("profile"));
-        if (account != null) {
-            pagedModel.add(linkTo(EventController.class).withRel("create-event"));
-        }
+    public CompletableFuture<ResponseEntity> queryEvents(Pageable pageable,
+                                                         EventSearchCondition condition,
+                                                         PagedResourcesAssembler<EventSummary> assembler,
+                                                         @CurrentAccount Account account,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return this.databaseExecutor.readOnly(() -> {
+            //id, version 만 먼저 조회해서 변경이 없으면 엔티티를 읽지 않고 304로 응답한다.
+            Page<EventVersion> versions = this.eventRepository.findVersions(condition.toSpecification(), pageable);
+            String currentETag = EventETags.of(versions.getContent(), versions.getTotalElements(), account);
+            if (EventETags.matches(ifNoneMatch, currentETag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag).<Page<EventSummary>>build();
+            }
+
+            //엔티티 대신 응답에 필요한 컬럼만 projection으로 읽는다.
+            List<Integer> ids = versions.map(EventVersion::getId).getContent();
+            Map<Integer, EventSummary> summaries = this.eventRepository.findSummariesByIdIn(ids).stream()
+                    .collect(Collectors.toMap(EventSummary::getId, Function.identity()));
+            List<EventSummary> content = ids.stream()
+                    .filter(summaries::containsKey)
+                    .map(summaries::get)
+                    .collect(Collectors.toList());
+            Page<EventSummary> page = new PageImpl<>(content, pageable, versions.getTotalElements());
 
-        return ResponseEntity.ok(pagedModel);
+            List<EventVersion> loaded = content.stream().map(EventSummary::getEventVersion).collect(Collectors.toList());
+            return ResponseEntity.ok()
+                    .eTag(EventETags.of(loaded, page.getTotalElements(), account))
+                    .body(page);
+        }, withModel(page -> {
+            var pagedModel = assembler.toModel(page, this.eventLinks::toResource);
+            pagedModel.add(this.eventLinks.profile("resources-events-list"));
+            if (account != null) {
+                pagedModel.add(this.eventLinks.collection("create-event"));
+            }
+            return pagedModel;
+        }));
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity queryEvent(@PathVariable Integer id, @CurrentAccount Account account) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    //after 값이 비어있으면 첫 페이지부터 조회한다.
+    @GetMapping(params = {"after", "!before"})
+    public CompletableFuture<ResponseEntity> queryEventsAfter(@RequestParam String after,
+                                                              @RequestParam(defaultValue = "20") int size,
+                                                              EventSearchCondition condition,
+                                                              @CurrentAccount Account account) {
+        return queryEventsByCursor(after, true, size, condition, account);
+    }
 
-        Optional<Event> optionalEvent = this.eventRepository.findById(id);
+    @GetMapping(params = {"before", "!after"})
+    public CompletableFuture<ResponseEntity> queryEventsBefore(@RequestParam String before,
+                                                               @RequestParam(defaultValue = "20") int size,
+                                                               EventSearchCondition condition,
+                                                               @CurrentAccount Account account) {
+        return queryEventsByCursor(before, false, size, condition, account);
+    }
 
-        if (optionalEvent.isEmpty()) {
-            return ResponseEntity.notFound().build();
+    private CompletableFuture<ResponseEntity> queryEventsByCursor(String position, boolean forward, int size,
+                                                                  EventSearchCondition condition, Account account) {
+        EventCursor cursor;
+        try {
+            cursor = position.isBlank() ? null : EventCursor.decode(position);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        if (!forward && cursor == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
         }
 
-        Event event = optionalEvent.get();
-        EventResource resource = new EventResource(event);
-        resource.add(new Link("/docs/index.html#resources-events-get").withRel("profile"));
-        if (event.getManager().equals(account)) {
-            resource.add(linkTo(EventController.class).slash(event.getId()).withRel("event-update"));
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Specification<Event> spec = condition.toSpecification().and(EventCursor.seek(cursor, forward));
+        return this.databaseExecutor.readOnly(
+                () -> this.eventRepository.findSlice(spec, EventCursor.sort(forward), limit + 1),
+                events -> {
+                    var model = this.cursorAssembler.toModel(events, cursor, forward, limit);
+                    model.add(this.eventLinks.profile("resources-events-list-cursor"));
+                    if (account != null) {
+                        model.add(this.eventLinks.collection("create-event"));
+                    }
+                    return ResponseEntity.ok(model);
+                });
+    }
+
+    @GetMapping("/search")
+    public CompletableFuture<ResponseEntity> searchEvents(@RequestParam String q,
+                                                          @RequestParam(defaultValue = "20") int size) {
+        if (q.isBlank()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
         }
 
-        return ResponseEntity.ok(resource);
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Integer> ids = this.eventSearchIndex.search(q, limit);
+        return this.databaseExecutor.readOnly(() -> this.eventRepository.findByIdIn(ids), found -> {
+            //색인의 순위대로 정렬, 색인 이후 지워진 이벤트는 제외된다.
+            Map<Integer, Event> events = found.stream()
+                    .collect(Collectors.toMap(Event::getId, Function.identity()));
+            List<EventResource> resources = ids.stream()
+                    .filter(events::containsKey)
+                    .map(id -> this.eventLinks.toResource(events.get(id)))
+                    .collect(Collectors.toList());
+
+            var model = CollectionModel.of(resources);
+            model.add(new Link(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()).withSelfRel());
+            model.add(this.eventLinks.profile("resources-events-search"));
+
+            return ResponseEntity.ok(model);
+        });
+    }
+
+    //폴링 대신 변경 알림을 구독한다. 끊어지면 브라우저가 Last-Event-ID를 보내서 이어 받는다.
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId) {
+        return this.eventChangeFeed.subscribe(lastEventId);
+    }
+
+    //입력할 때마다 호출되므로 DB를 읽지 않고 메모리의 trie로 응답한다.
+    @GetMapping("/suggest")
+    public ResponseEntity suggestEvents(@RequestParam String prefix,
+                                        @RequestParam(defaultValue = "10") int size) {
+        int limit = Math.max(1, Math.min(size, SuggestionTrie.TOP_K));
+        EventSuggestions suggestions = new EventSuggestions(
+                this.eventSuggester.suggestNames(prefix, limit),
+                this.eventSuggester.suggestLocations(prefix, limit));
+
+        EntityModel<EventSuggestions> model = EntityModel.of(suggestions);
+        model.add(new Link(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()).withSelfRel());
+        model.add(this.eventLinks.profile("resources-events-suggest"));
+        return ResponseEntity.ok(model);
+    }
+
+    //DB를 읽지 않고 메모리의 집계로 응답한다.
+    @GetMapping("/stats")
+    public ResponseEntity queryEventStats() {
+        EntityModel<EventStats> model = EntityModel.of(this.eventStatistics.snapshot());
+        model.add(new Link(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()).withSelfRel());
+        model.add(this.eventLinks.collection("query-events"));
+        model.add(this.eventLinks.profile("resources-events-stats"));
+        return ResponseEntity.ok(model);
+    }
+
+    //응답을 다 만들지 않고 흘려보내므로 이벤트 수와 관계없이 메모리를 일정하게 쓴다.
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEvents() {
+        StreamingResponseBody body = out -> this.eventService.exportTo(out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity> queryEvent(@PathVariable Integer id,
+                                                        @CurrentAccount Account account,
+                                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return this.databaseExecutor.readOnly(() -> {
+            Optional<EventVersion> optionalVersion = this.eventRepository.findVersionById(id);
+
+            if (optionalVersion.isEmpty()) {
+                return ResponseEntity.notFound().<Event>build();
+            }
+
+            String currentETag = EventETags.of(optionalVersion.get(), account);
+            if (EventETags.matches(ifNoneMatch, currentETag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag).<Event>build();
+            }
+
+            Optional<Event> optionalEvent = this.eventService.findById(id, optionalVersion.get().getVersion());
+
+            if (optionalEvent.isEmpty()) {
+                return ResponseEntity.notFound().<Event>build();
+            }
+
+            //캐시를 거치지 않고 DB에서 다시 읽었으면 그 사이에 바뀐 version일 수 있으므로 body와 같은 version으로 ETag를 만든다.
+            Event event = optionalEvent.get();
+            EventVersion version = Objects.equals(event.getVersion(), optionalVersion.get().getVersion()) ? optionalVersion.get() : EventVersion.of(event);
+            return ResponseEntity.ok()
+                    .eTag(EventETags.of(version, account))
+                    .body(event);
+        }, withModel(event -> {
+            EventResource resource = this.eventLinks.toResource(event);
+            resource.add(this.eventLinks.profile("resources-events-get"));
+            if (event.getManager().equals(account)) {
+                resource.add(this.eventLinks.item(event.getId(), "event-update"));
+                if (event.getEventStatus() == EventStatus.DRAFT) {
+                    resource.add(this.eventLinks.publish(event.getId(), "event-publish"));
+                }
+            }
+            return resource;
+        }));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity updateEvent(@PathVariable Integer id,
                                       @RequestBody @Valid EventDTO eventDTO,
                                       Errors errors,
-                                      @CurrentAccount Account account) {
-        Optional<Event> optionalEvent = this.eventRepository.findById(id);
+                                      @CurrentAccount Account account,
+                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Optional<Event> optionalEvent = this.eventService.findCurrent(id);
 
         if (optionalEvent.isEmpty()) {
             return ResponseEntity.notFound().build();
@@ -128,13 +506,91 @@ public class EventController {
         if (!event.getManager().equals(account)) {
             return new ResponseEntity(HttpStatus.UNAUTHORIZED);
         }
-        this.modelMapper.map(eventDTO, event);
+        if (preconditionFailed(ifMatch, event, account)) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        this.eventMapper.updateEvent(eventDTO, event);
+        Event newEvent = this.eventRepository.save(event);
+        this.eventPublisher.publishEvent(EventChange.updated(newEvent));
+
+        EventResource resource = this.eventLinks.toResource(newEvent);
+        resource.add(this.eventLinks.profile("resources-events-update"));
+
+        return ResponseEntity.ok()
+                .eTag(EventETags.of(EventVersion.of(newEvent), account))
+                .body(resource);
+    }
+
+    //patch에 들어있는 필드만 바꾼다.
+    @PatchMapping(value = "/{id}", consumes = EventMergePatch.APPLICATION_MERGE_PATCH_JSON_VALUE)
+    public ResponseEntity patchEvent(@PathVariable Integer id,
+                                     @RequestBody JsonNode patch,
+                                     @CurrentAccount Account account,
+                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Optional<Event> optionalEvent = this.eventService.findCurrent(id);
+
+        if (optionalEvent.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Event event = optionalEvent.get();
+        if (!event.getManager().equals(account)) {
+            return new ResponseEntity(HttpStatus.UNAUTHORIZED);
+        }
+        if (preconditionFailed(ifMatch, event, account)) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+
+        Errors errors = this.eventMergePatch.apply(patch, event);
+        if (errors.hasErrors()) {
+            return badRequest(errors);
+        }
+
+        Event newEvent = this.eventRepository.save(event);
+        this.eventPublisher.publishEvent(EventChange.updated(newEvent));
+
+        EventResource resource = this.eventLinks.toResource(newEvent);
+        resource.add(this.eventLinks.profile("resources-events-patch"));
+
+        return ResponseEntity.ok()
+                .eTag(EventETags.of(EventVersion.of(newEvent), account))
+                .body(resource);
+    }
+
+    //DRAFT인 이벤트를 공개한다. 이후의 상태는 EventLifecycleScheduler가 날짜에 따라 바꾼다.
+    @PostMapping("/{id}/publish")
+    public ResponseEntity publishEvent(@PathVariable Integer id,
+                                       @CurrentAccount Account account,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Optional<Event> optionalEvent = this.eventService.findCurrent(id);
+
+        if (optionalEvent.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Event event = optionalEvent.get();
+        if (!event.getManager().equals(account)) {
+            return new ResponseEntity(HttpStatus.UNAUTHORIZED);
+        }
+        if (preconditionFailed(ifMatch, event, account)) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        if (event.getEventStatus() != EventStatus.DRAFT) {
+            Errors errors = new MapBindingResult(new HashMap<>(), "event");
+            errors.reject("notDraft", "Event was already published");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorsResource(errors));
+        }
+
+        event.setEventStatus(EventStatus.PUBLISHED);
         Event newEvent = this.eventRepository.save(event);
+        this.eventPublisher.publishEvent(EventChange.statusChanged(newEvent));
 
-        EventResource resource = new EventResource(newEvent);
-        resource.add(new Link("/docs/index.html#resources-events-update").withRel("profile"));
+        EventResource resource = this.eventLinks.toResource(newEvent);
+        resource.add(this.eventLinks.profile("resources-events-publish"));
 
-        return ResponseEntity.ok(resource);
+        return ResponseEntity.ok()
+                .eTag(EventETags.of(EventVersion.of(newEvent), account))
+                .body(resource);
     }
 
 
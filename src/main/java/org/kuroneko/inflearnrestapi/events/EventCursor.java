@@ -0,0 +1,78 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/*
+    keyset 페이지네이션에서 사용하는 커서
+    (beginEventDateTime, id) 순서로 정렬된 목록에서 마지막으로 본 위치를 나타낸다.
+ */
+@Getter @EqualsAndHashCode
+public class EventCursor {
+
+    private static final String SEPARATOR = "_";
+
+    private final LocalDateTime beginEventDateTime;
+    private final Integer id;
+
+    private EventCursor(LocalDateTime beginEventDateTime, Integer id) {
+        this.beginEventDateTime = beginEventDateTime;
+        this.id = id;
+    }
+
+    public static EventCursor of(Event event) {
+        return new EventCursor(event.getBeginEventDateTime(), event.getId());
+    }
+
+    public static EventCursor decode(String value) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int index = decoded.lastIndexOf(SEPARATOR);
+            if (index < 0) {
+                throw new IllegalArgumentException("Malformed cursor: " + value);
+            }
+            return new EventCursor(LocalDateTime.parse(decoded.substring(0, index)),
+                    Integer.valueOf(decoded.substring(index + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + value, e);
+        }
+    }
+
+    public String encode() {
+        String raw = this.beginEventDateTime + SEPARATOR + this.id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Sort sort(boolean forward) {
+        Sort.Direction direction = forward ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(direction, "beginEventDateTime", "id");
+    }
+
+    //cursor가 없으면 처음부터 조회한다.
+    public static Specification<Event> seek(EventCursor cursor, boolean forward) {
+        return (root, query, builder) -> {
+            if (cursor == null) {
+                return null;
+            }
+            if (forward) {
+                return builder.or(
+                        builder.greaterThan(root.get("beginEventDateTime"), cursor.getBeginEventDateTime()),
+                        builder.and(
+                                builder.equal(root.get("beginEventDateTime"), cursor.getBeginEventDateTime()),
+                                builder.greaterThan(root.get("id"), cursor.getId())));
+            }
+            return builder.or(
+                    builder.lessThan(root.get("beginEventDateTime"), cursor.getBeginEventDateTime()),
+                    builder.and(
+                            builder.equal(root.get("beginEventDateTime"), cursor.getBeginEventDateTime()),
+                            builder.lessThan(root.get("id"), cursor.getId())));
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/*
+    keyset 조회 결과를 next/prev 링크가 담긴 CollectionModel로 변환한다.
+    조회는 limit + 1개를 가져와서 다음 페이지가 있는지 판단한다. (count 쿼리 없음)
+ */
+@Component
+public class EventCursorAssembler {
+
+    @Autowired
+    private EventLinks eventLinks;
+
+    public CollectionModel<EventResource> toModel(List<Event> events, EventCursor cursor, boolean forward, int limit) {
+        boolean hasMore = events.size() > limit;
+        List<Event> content = new ArrayList<>(events.subList(0, Math.min(limit, events.size())));
+        if (!forward) {
+            Collections.reverse(content);
+        }
+
+        List<EventResource> resources = content.stream()
+                .map(this.eventLinks::toResource)
+                .collect(Collectors.toList());
+        CollectionModel<EventResource> model = CollectionModel.of(resources);
+
+        String position = cursor == null ? "" : cursor.encode();
+        model.add(cursorLink(forward ? "after" : "before", position, limit, IanaLinkRelations.SELF));
+
+        if (content.isEmpty()) {
+            return model;
+        }
+        boolean hasNext = forward ? hasMore : cursor != null;
+        boolean hasPrev = forward ? cursor != null : hasMore;
+        if (hasNext) {
+            EventCursor last = EventCursor.of(content.get(content.size() - 1));
+            model.add(cursorLink("after", last.encode(), limit, IanaLinkRelations.NEXT));
+        }
+        if (hasPrev) {
+            EventCursor first = EventCursor.of(content.get(0));
+            model.add(cursorLink("before", first.encode(), limit, IanaLinkRelations.PREV));
+        }
+        return model;
+    }
+
+    private Link cursorLink(String direction, String position, int limit, LinkRelation rel) {
+        //필터 조건 같은 나머지 파라미터는 그대로 유지한다.
+        String href = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after")
+                .replaceQueryParam("before")
+                .replaceQueryParam(direction, position)
+                .replaceQueryParam("size", limit)
+                .toUriString();
+        return new Link(href).withRel(rel);
+    }
+}
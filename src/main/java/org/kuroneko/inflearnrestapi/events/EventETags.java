@@ -0,0 +1,62 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import org.kuroneko.inflearnrestapi.account.Account;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+/*
+    렌더링된 본문이 아니라 엔티티의 version으로 ETag를 만든다.
+    같은 version이라도 요청한 계정에 따라 링크가 달라지므로 그 여부도 ETag에 포함한다.
+ */
+final class EventETags {
+
+    private EventETags() {
+    }
+
+    static String of(EventVersion version, Account account) {
+        boolean manager = account != null && Objects.equals(version.getManagerId(), account.getId());
+        return "\"" + version.getId() + "-" + version.getVersion() + (manager ? "-m" : "") + "\"";
+    }
+
+    static String of(List<EventVersion> versions, long totalElements, Account account) {
+        StringBuilder builder = new StringBuilder()
+                .append(totalElements)
+                .append(account != null ? "|a" : "|-");
+        versions.forEach(v -> builder.append('|').append(v.getId()).append(':').append(v.getVersion()));
+        return "\"" + DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    //If-Match 는 strong 비교를 하므로 W/ 로 시작하는 값은 맞지 않는다.
+    static boolean matchesStrong(String header, String eTag) {
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //If-None-Match 는 weak 비교를 한다.
+    static boolean matches(String header, String eTag) {
+        if (header == null || header.isBlank()) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*")) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
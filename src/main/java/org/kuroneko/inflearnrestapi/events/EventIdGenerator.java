@@ -0,0 +1,19 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.io.Serializable;
+
+/*
+    event_seq를 그대로 쓰되 이미 id가 있으면 그 id로 저장한다.
+    쓰기 지연 모드에서 응답 전에 EventService.reserveId로 받아둔 id를 insert 할 때 그대로 쓰기 위함이다.
+ */
+public class EventIdGenerator extends SequenceStyleGenerator {
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        Serializable id = session.getEntityPersister(null, object).getIdentifier(object, session);
+        return id != null ? id : super.generate(session, object);
+    }
+}
@@ -0,0 +1,35 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import org.springframework.validation.Errors;
+
+//import 요청에서 line 번째 줄의 처리 결과. 생성되면 id, 실패하면 errors가 채워진다.
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventImportResult {
+
+    public enum Status {
+        CREATED, REJECTED
+    }
+
+    private final long line;
+    private final Status status;
+    private final Integer id;
+    private final Errors errors;
+
+    private EventImportResult(long line, Status status, Integer id, Errors errors) {
+        this.line = line;
+        this.status = status;
+        this.id = id;
+        this.errors = errors;
+    }
+
+    public static EventImportResult created(long line, Integer id) {
+        return new EventImportResult(line, Status.CREATED, id, null);
+    }
+
+    public static EventImportResult rejected(long line, Errors errors) {
+        return new EventImportResult(line, Status.REJECTED, null, errors);
+    }
+}
@@ -0,0 +1,225 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.kuroneko.inflearnrestapi.account.Account;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.annotation.PreDestroy;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/*
+    NDJSON, CSV 파일로 이벤트를 한번에 등록한다.
+    요청 본문은 CHUNK_SIZE 줄씩 읽고, 읽은 줄의 파싱과 검증은 제한된 크기의 풀에서 나눠서 처리한다.
+    검증을 통과한 이벤트는 chunk 마다 하나의 트랜잭션으로 저장하고 줄마다 결과를 바로 응답에 쓴다.
+ */
+@Component
+public class EventImporter {
+
+    static final int CHUNK_SIZE = 1000;
+
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private Validator validator;
+    @Autowired private EventValidator eventValidator;
+    @Autowired private EventMapper eventMapper;
+    @Autowired private EventService eventService;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+
+    private final int parallelism = Runtime.getRuntime().availableProcessors();
+    //큐가 차면 요청 스레드가 직접 검증해서 자연스럽게 읽기 속도가 조절된다.
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            this.parallelism, this.parallelism, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(this.parallelism * 2), daemonThreads(), new ThreadPoolExecutor.CallerRunsPolicy());
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    public void importEvents(Reader reader, Format format, Account account, OutputStream out) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        JsonGenerator generator = this.objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        long lineNumber = 0;
+        String[] header = null;
+        if (format == Format.CSV) {
+            String headerLine = lines.readLine();
+            if (headerLine == null) {
+                return;
+            }
+            lineNumber++;
+            header = EventCsv.parseLine(headerLine);
+        }
+
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(new Row(lineNumber, line));
+            if (chunk.size() == CHUNK_SIZE) {
+                writeResults(generator, importChunk(chunk, header, account));
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeResults(generator, importChunk(chunk, header, account));
+        }
+    }
+
+    private List<EventImportResult> importChunk(List<Row> chunk, String[] header, Account account) {
+        int sliceSize = Math.max(1, (chunk.size() + this.parallelism - 1) / this.parallelism);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int from = 0; from < chunk.size(); from += sliceSize) {
+            List<Row> slice = chunk.subList(from, Math.min(from + sliceSize, chunk.size()));
+            futures.add(CompletableFuture.runAsync(() -> slice.forEach(row -> validate(row, header)), this.executor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        List<Event> events = new ArrayList<>();
+        for (Row row : chunk) {
+            if (row.errors.hasErrors()) {
+                continue;
+            }
+            Event event = this.eventMapper.toEvent(row.eventDTO);
+            event.freeUpdate();
+            event.offlineUpdate();
+            event.setManager(account);
+            row.event = event;
+            events.add(event);
+        }
+        if (!events.isEmpty()) {
+            this.eventService.createAll(events);
+            events.forEach(e -> this.eventPublisher.publishEvent(EventChange.created(e)));
+        }
+
+        return chunk.stream()
+                .map(row -> row.event != null
+                        ? EventImportResult.created(row.line, row.event.getId())
+                        : EventImportResult.rejected(row.line, row.errors))
+                .collect(Collectors.toList());
+    }
+
+    private void validate(Row row, String[] header) {
+        try {
+            row.eventDTO = header == null
+                    ? this.objectMapper.readValue(row.text, EventDTO.class)
+                    : this.objectMapper.convertValue(EventCsv.toMap(header, row.text), EventDTO.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            row.errors = new MapBindingResult(new HashMap<>(), "eventDTO");
+            row.errors.reject("unreadable", "Line can not be read as an event");
+            return;
+        }
+
+        row.errors = new BeanPropertyBindingResult(row.eventDTO, "eventDTO");
+        new SpringValidatorAdapter(this.validator).validate(row.eventDTO, row.errors);
+        //bean validation을 통과한 경우에만 날짜 비교가 가능하다.
+        if (!row.errors.hasErrors()) {
+            this.eventValidator.validate(row.eventDTO, row.errors);
+        }
+    }
+
+    private void writeResults(JsonGenerator generator, List<EventImportResult> results) throws IOException {
+        for (EventImportResult result : results) {
+            generator.writeObject(result);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.executor.shutdown();
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "event-import-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class Row {
+        private final long line;
+        private final String text;
+        private EventDTO eventDTO;
+        private Errors errors;
+        private Event event;
+
+        private Row(long line, String text) {
+            this.line = line;
+            this.text = text;
+        }
+    }
+
+    //따옴표로 감싼 값과 ""로 이스케이프 된 따옴표만 지원하는 간단한 CSV 파서. 값 안의 줄바꿈은 지원하지 않는다.
+    static class EventCsv {
+
+        static String[] parseLine(String line) {
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        value.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        value.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else {
+                    value.append(c);
+                }
+            }
+            values.add(value.toString());
+            return values.toArray(new String[0]);
+        }
+
+        static Map<String, String> toMap(String[] header, String line) {
+            String[] values = parseLine(line);
+            if (values.length != header.length) {
+                throw new IllegalArgumentException("Column count does not match header");
+            }
+            Map<String, String> map = new LinkedHashMap<>();
+            for (int i = 0; i < header.length; i++) {
+                map.put(header[i].trim(), values[i].isEmpty() ? null : values[i]);
+            }
+            return map;
+        }
+    }
+}
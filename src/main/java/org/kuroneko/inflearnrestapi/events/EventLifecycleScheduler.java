@@ -0,0 +1,258 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/*
+    날짜에 따라 EventStatus를 바꾼다.
+    nextTransitionAt 인덱스로 horizon 안에 전이할 이벤트의 일정만 읽어서 다음 전이 시각 순서로 정렬해두고,
+    스레드 하나가 가장 빠른 시각까지 기다렸다가 그때까지 도래한 전이를 (from, to) 별로 묶어서 한번에 update 한다.
+    읽어둔 범위의 절반이 지나면 다음 범위를 읽는다.
+    이벤트가 저장되면 EventChange를 받아서 그 이벤트의 예약을 새 일정으로 바꾸므로 이벤트마다 예약은 하나뿐이다.
+    전이할 때 DB에서 일정을 다시 읽으므로 예약이 오래된 일정이어도 잘못 바뀌지 않는다.
+ */
+@Slf4j
+@Component
+public class EventLifecycleScheduler implements SmartLifecycle {
+
+    @Autowired private EventRepository eventRepository;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    @Value("${my-app.event-lifecycle.enabled:true}")
+    private boolean enabled;
+    @Value("${my-app.event-lifecycle.horizon:1d}")
+    private Duration horizon;
+
+    //lock 으로 보호한다.
+    private final TreeSet<Entry> queue = new TreeSet<>(Comparator.comparing(Entry::getAt).thenComparing(Entry::getId));
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private LocalDateTime loadedUntil = LocalDateTime.MIN;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = this.lock.newCondition();
+    private volatile Thread worker;
+
+    public void reload() {
+        load(LocalDateTime.now().plus(this.horizon));
+    }
+
+    //until 전에 전이할 이벤트를 예약한다. 읽는 동안 EventChange로 바뀐 예약이 더 새것이므로 덮어쓰지 않는다.
+    public void load(LocalDateTime until) {
+        this.lock.lock();
+        try {
+            if (until.isAfter(this.loadedUntil)) {
+                this.loadedUntil = until;
+            }
+        } finally {
+            this.lock.unlock();
+        }
+
+        List<EventTimeline> timelines = this.eventRepository.findTimelinesDueBefore(until);
+        this.lock.lock();
+        try {
+            for (EventTimeline timeline : timelines) {
+                if (!this.entries.containsKey(timeline.getId())) {
+                    put(timeline.getId(), timeline.nextAt());
+                }
+            }
+            this.changed.signal();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onEventChange(EventChange change) {
+        schedule(EventTimeline.of(change.getEvent()));
+    }
+
+    //이전 예약을 지우고 읽어둔 범위 안이면 새 일정으로 예약한다. 범위 밖이면 다음 범위를 읽을 때 예약된다.
+    public void schedule(EventTimeline timeline) {
+        LocalDateTime at = timeline.nextAt();
+        this.lock.lock();
+        try {
+            Entry previous = this.entries.remove(timeline.getId());
+            if (previous != null) {
+                this.queue.remove(previous);
+            }
+            if (at != null && !at.isAfter(this.loadedUntil)) {
+                put(timeline.getId(), at);
+                this.changed.signal();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    int scheduled() {
+        this.lock.lock();
+        try {
+            return this.entries.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    //now 까지 도래한 전이를 모두 적용하고 바뀐 이벤트 수를 돌려준다.
+    public int advance(LocalDateTime now) {
+        int count = 0;
+        List<Integer> due;
+        while (!(due = pollDue(now)).isEmpty()) {
+            count += apply(due, now);
+        }
+        return count;
+    }
+
+    private void put(Integer id, LocalDateTime at) {
+        Entry entry = new Entry(at, id);
+        this.entries.put(id, entry);
+        this.queue.add(entry);
+    }
+
+    private List<Integer> pollDue(LocalDateTime now) {
+        List<Integer> due = new ArrayList<>();
+        this.lock.lock();
+        try {
+            while (!this.queue.isEmpty() && !this.queue.first().getAt().isAfter(now)) {
+                Entry entry = this.queue.pollFirst();
+                this.entries.remove(entry.getId());
+                due.add(entry.getId());
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        return due;
+    }
+
+    private int apply(List<Integer> ids, LocalDateTime now) {
+        //예약한 뒤에 수정되었을 수 있으므로 DB의 일정으로 다시 계산한다.
+        List<EventTimeline> due = new ArrayList<>();
+        for (EventTimeline timeline : this.eventRepository.findTimelinesByIdIn(ids)) {
+            if (timeline.statusAt(now) != timeline.getStatus()) {
+                due.add(timeline);
+            } else {
+                schedule(timeline);
+            }
+        }
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        Map<List<EventStatus>, List<Integer>> groups = due.stream()
+                .collect(Collectors.groupingBy(t -> List.of(t.getStatus(), t.statusAt(now)),
+                        Collectors.mapping(EventTimeline::getId, Collectors.toList())));
+
+        List<Event> changedEvents = this.transactionTemplate.execute(status -> {
+            groups.forEach((transition, group) ->
+                    this.eventRepository.updateEventStatus(group, transition.get(0), transition.get(1), now));
+            return this.eventRepository.findByIdIn(due.stream().map(EventTimeline::getId).collect(Collectors.toList()));
+        });
+
+        //검색 색인, 신청 자리, 다음 전이 예약이 모두 EventChange로 갱신된다.
+        Map<Integer, EventStatus> before = due.stream()
+                .collect(Collectors.toMap(EventTimeline::getId, EventTimeline::getStatus));
+        int count = 0;
+        for (Event event : changedEvents) {
+            if (event.getEventStatus() != before.get(event.getId())) {
+                this.eventPublisher.publishEvent(EventChange.statusChanged(event));
+                count++;
+            } else {
+                this.eventPublisher.publishEvent(EventChange.updated(event));
+            }
+        }
+        return count;
+    }
+
+    private void run() {
+        reload();
+        while (this.worker == Thread.currentThread()) {
+            try {
+                if (awaitNextDue()) {
+                    reload();
+                }
+                advance(LocalDateTime.now());
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Failed to apply event status transitions", e);
+            }
+        }
+    }
+
+    //가장 빠른 전이 시각이나 다음 범위를 읽을 시각까지 기다린다. 다음 범위를 읽어야 하면 true
+    private boolean awaitNextDue() throws InterruptedException {
+        this.lock.lock();
+        try {
+            while (true) {
+                LocalDateTime reloadAt = this.loadedUntil.minus(this.horizon.dividedBy(2));
+                LocalDateTime wakeAt = this.queue.isEmpty() || this.queue.first().getAt().isAfter(reloadAt)
+                        ? reloadAt : this.queue.first().getAt();
+                long delay = Duration.between(LocalDateTime.now(), wakeAt).toNanos();
+                if (delay <= 0) {
+                    return wakeAt == reloadAt;
+                }
+                this.changed.awaitNanos(delay);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return this.enabled;
+    }
+
+    @Override
+    public void start() {
+        Thread thread = new Thread(this::run, "event-lifecycle");
+        thread.setDaemon(true);
+        this.worker = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = this.worker;
+        this.worker = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.worker != null;
+    }
+
+    private static class Entry {
+        private final LocalDateTime at;
+        private final Integer id;
+
+        private Entry(LocalDateTime at, Integer id) {
+            this.at = at;
+            this.id = id;
+        }
+
+        LocalDateTime getAt() {
+            return this.at;
+        }
+
+        Integer getId() {
+            return this.id;
+        }
+    }
+}
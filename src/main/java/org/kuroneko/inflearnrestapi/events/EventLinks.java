@@ -0,0 +1,76 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+    이벤트 리소스의 링크를 만든다.
+    linkTo(EventController.class)는 호출할 때마다 컨트롤러 매핑과 현재 요청을 다시 살펴보므로
+    매핑 경로는 애플리케이션에서 한번, 요청 기준 URI는 요청마다 한번만 구하고 나머지는 문자열을 이어서 만든다.
+    profile 링크는 상대 경로라서 애플리케이션 전체에서 재사용한다.
+ */
+@Component
+public class EventLinks {
+
+    private static final String BASE_ATTRIBUTE = EventLinks.class.getName() + ".BASE";
+    private static final String PROFILE_PREFIX = "/docs/index.html#";
+
+    private final String mapping;
+    private final Map<String, Link> profiles = new ConcurrentHashMap<>();
+
+    public EventLinks() {
+        RequestMapping requestMapping = AnnotatedElementUtils.findMergedAnnotation(EventController.class, RequestMapping.class);
+        this.mapping = requestMapping.path()[0];
+    }
+
+    public String base() {
+        RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        String base = (String) attributes.getAttribute(BASE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (base == null) {
+            base = ServletUriComponentsBuilder.fromCurrentServletMapping().path(this.mapping).toUriString();
+            attributes.setAttribute(BASE_ATTRIBUTE, base, RequestAttributes.SCOPE_REQUEST);
+        }
+        return base;
+    }
+
+    public Link self(Integer id) {
+        return item(id, IanaLinkRelations.SELF.value());
+    }
+
+    public Link item(Integer id, String rel) {
+        return new Link(base() + "/" + id, rel);
+    }
+
+    public Link enrollments(Integer id, String rel) {
+        return new Link(base() + "/" + id + "/enrollments", rel);
+    }
+
+    public Link publish(Integer id, String rel) {
+        return new Link(base() + "/" + id + "/publish", rel);
+    }
+
+    public Link collection(String rel) {
+        return new Link(base(), rel);
+    }
+
+    public Link profile(String section) {
+        return this.profiles.computeIfAbsent(section, s -> new Link(PROFILE_PREFIX + s).withRel("profile"));
+    }
+
+    public EventResource toResource(Event event) {
+        return new EventResource(event, self(event.getId()));
+    }
+
+    public EventSummaryResource toResource(EventSummary eventSummary) {
+        return new EventSummaryResource(eventSummary, self(eventSummary.getId()));
+    }
+}
@@ -0,0 +1,33 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+/*
+    컴파일 시점에 생성되는 EventDTO <-> Event 매퍼 (EventMapperImpl)
+    EventDTO에 없는 값은 서버에서 정하므로 매핑하지 않는다.
+ */
+@Mapper(componentModel = "spring")
+public interface EventMapper {
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "offline", ignore = true)
+    @Mapping(target = "free", ignore = true)
+    @Mapping(target = "manager", ignore = true)
+    @Mapping(target = "eventStatus", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "nextTransitionAt", ignore = true)
+    Event toEvent(EventDTO eventDTO);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "offline", ignore = true)
+    @Mapping(target = "free", ignore = true)
+    @Mapping(target = "manager", ignore = true)
+    @Mapping(target = "eventStatus", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "nextTransitionAt", ignore = true)
+    void updateEvent(EventDTO eventDTO, @MappingTarget Event event);
+
+    EventDTO toEventDTO(Event event);
+}
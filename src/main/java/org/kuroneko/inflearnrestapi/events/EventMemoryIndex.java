@@ -0,0 +1,110 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/*
+    시작할 때 DB에서 만들고 이후에는 EventChange로 갱신하는 메모리 색인의 공통 부분
+    EventChange는 저장한 순서대로 도착하지 않을 수 있으므로 이벤트마다 마지막으로 반영한 version을 두고 그보다 오래된 변경은 버린다.
+    rebuild의 조회는 lock 밖에서 하므로 조회를 시작한 뒤에 들어온 변경은 조회 결과에 없을 수 있다.
+    rebuild 중의 변경은 지금 색인에 반영하면서 따로 모아뒀다가 다시 만든 색인에 한번 더 반영한다.
+ */
+abstract class EventMemoryIndex<T> implements ApplicationRunner {
+
+    //eventId -> 마지막으로 반영한 version
+    private final Map<Integer, Long> versions = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    //rebuild 중이 아니면 null
+    private List<T> changedDuringRebuild;
+
+    protected abstract List<T> load();
+
+    protected abstract Integer idOf(T value);
+
+    protected abstract Long versionOf(T value);
+
+    protected abstract void clear();
+
+    protected abstract void add(T value);
+
+    protected abstract void remove(Integer id);
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            this.changedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<T> loaded = null;
+        try {
+            loaded = load();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                //조회에 실패했으면 지금 색인을 그대로 둔다.
+                if (loaded != null) {
+                    this.versions.clear();
+                    clear();
+                    loaded.forEach(this::put);
+                    this.changedDuringRebuild.forEach(this::apply);
+                }
+                this.changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    protected void change(T value) {
+        lock.writeLock().lock();
+        try {
+            if (this.changedDuringRebuild != null) {
+                this.changedDuringRebuild.add(value);
+            }
+            apply(value);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    protected <R> R read(Supplier<R> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(T value) {
+        Integer id = idOf(value);
+        Long version = versionOf(value);
+        Long applied = this.versions.get(id);
+        //version을 모르면 그대로 반영한다.
+        if (version != null && applied != null && version < applied) {
+            return;
+        }
+        remove(id);
+        put(value);
+    }
+
+    private void put(T value) {
+        this.versions.put(idOf(value), versionOf(value));
+        add(value);
+    }
+}
@@ -0,0 +1,100 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/*
+    JSON Merge Patch (RFC 7396)를 Event에 적용한다.
+    patch에 들어있는 필드만 bean validation 하고, EventValidator 규칙도 관련된 필드가 바뀐 경우에만 검사한다.
+    Event는 @DynamicUpdate 라서 실제로 값이 바뀐 컬럼만 update 된다.
+ */
+@Component
+public class EventMergePatch {
+
+    public static final String APPLICATION_MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+    private static final Set<String> PROPERTIES = Arrays.stream(BeanUtils.getPropertyDescriptors(EventDTO.class))
+            .map(PropertyDescriptor::getName)
+            .filter(name -> !name.equals("class"))
+            .collect(Collectors.toUnmodifiableSet());
+    private static final Set<String> PRICE_PROPERTIES = Set.of("basePrice", "maxPrice");
+    private static final Set<String> DATE_PROPERTIES = Set.of("beginEnrollmentDateTime", "closeEnrollmentDateTime",
+            "beginEventDateTime", "endEventDateTime");
+
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private Validator validator;
+    @Autowired private EventValidator eventValidator;
+    @Autowired private EventMapper eventMapper;
+
+    //검증에 실패하면 event는 바꾸지 않고 errors를 돌려준다.
+    public Errors apply(JsonNode patch, Event event) {
+        EventDTO eventDTO = this.eventMapper.toEventDTO(event);
+        Errors errors = new BeanPropertyBindingResult(eventDTO, "eventDTO");
+        if (patch == null || !patch.isObject()) {
+            errors.reject("wrongPatch", "Merge patch must be a JSON object");
+            return errors;
+        }
+
+        List<String> fields = new ArrayList<>();
+        patch.fieldNames().forEachRemaining(fields::add);
+        for (String field : fields) {
+            if (!PROPERTIES.contains(field)) {
+                errors.reject("unknownField", "Unknown field " + field);
+            }
+        }
+        if (errors.hasErrors()) {
+            return errors;
+        }
+
+        try {
+            this.objectMapper.readerForUpdating(eventDTO).readValue(patch);
+        } catch (IOException e) {
+            errors.reject("unreadable", "Merge patch can not be applied");
+            return errors;
+        }
+
+        for (String field : fields) {
+            for (ConstraintViolation<EventDTO> violation : this.validator.validateProperty(eventDTO, field)) {
+                String code = violation.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName();
+                errors.rejectValue(field, code, violation.getMessage());
+            }
+        }
+        if (errors.hasErrors()) {
+            return errors;
+        }
+
+        if (fields.stream().anyMatch(PRICE_PROPERTIES::contains)) {
+            this.eventValidator.validatePrices(eventDTO, errors);
+        }
+        if (fields.stream().anyMatch(DATE_PROPERTIES::contains)) {
+            this.eventValidator.validateDates(eventDTO, errors);
+        }
+        if (errors.hasErrors()) {
+            return errors;
+        }
+
+        this.eventMapper.updateEvent(eventDTO, event);
+        if (fields.stream().anyMatch(PRICE_PROPERTIES::contains)) {
+            event.freeUpdate();
+        }
+        if (fields.contains("location")) {
+            event.offlineUpdate();
+        }
+        return errors;
+    }
+}
@@ -1,6 +1,69 @@
 package org.kuroneko.inflearnrestapi.events;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface EventRepository extends JpaRepository<Event,Integer> {
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+public interface EventRepository extends JpaRepository<Event,Integer>, JpaSpecificationExecutor<Event>, EventRepositoryCustom {
+
+    int EXPORT_FETCH_SIZE = 500;
+
+    @Override
+    @EntityGraph(Event.WITH_MANAGER)
+    Optional<Event> findById(Integer id);
+
+    @EntityGraph(Event.WITH_MANAGER)
+    List<Event> findByIdIn(Collection<Integer> ids);
+
+    //manager는 join 하지 않고 FK 값만 읽는다.
+    @Query("select new org.kuroneko.inflearnrestapi.events.EventSummary(e.id, e.name, e.description, " +
+            "e.beginEnrollmentDateTime, e.closeEnrollmentDateTime, e.beginEventDateTime, e.endEventDateTime, " +
+            "e.location, e.basePrice, e.maxPrice, e.limitOfEnrollment, e.offline, e.free, e.manager.id, e.eventStatus, e.version) " +
+            "from Event e where e.id in :ids")
+    List<EventSummary> findSummariesByIdIn(Collection<Integer> ids);
+
+    @Query("select new org.kuroneko.inflearnrestapi.events.EventVersion(e.id, e.version, m.id) " +
+            "from Event e left join e.manager m where e.id = :id")
+    Optional<EventVersion> findVersionById(Integer id);
+
+    //export 용. 트랜잭션 안에서 DB 커서로 fetch size 만큼씩 가져온다.
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("select e from Event e left join fetch e.manager order by e.id")
+    Stream<Event> streamAllOrderById();
+
+    //nextTransitionAt 인덱스로 until 전에 전이할 이벤트의 일정만 읽는다.
+    @Query("select new org.kuroneko.inflearnrestapi.events.EventTimeline(e.id, e.eventStatus, " +
+            "e.beginEnrollmentDateTime, e.closeEnrollmentDateTime, e.beginEventDateTime, e.endEventDateTime) " +
+            "from Event e where e.nextTransitionAt < :until")
+    List<EventTimeline> findTimelinesDueBefore(LocalDateTime until);
+
+    @Query("select new org.kuroneko.inflearnrestapi.events.EventTimeline(e.id, e.eventStatus, " +
+            "e.beginEnrollmentDateTime, e.closeEnrollmentDateTime, e.beginEventDateTime, e.endEventDateTime) " +
+            "from Event e where e.id in :ids")
+    List<EventTimeline> findTimelinesByIdIn(Collection<Integer> ids);
+
+    @Query("select new org.kuroneko.inflearnrestapi.events.EventStatsEntry(e.id, e.eventStatus, e.free, e.offline, e.basePrice, e.version) " +
+            "from Event e")
+    List<EventStatsEntry> findStatsEntries();
+
+    @Query("select new org.kuroneko.inflearnrestapi.events.EventSuggestEntry(e.id, e.name, e.location, e.version) " +
+            "from Event e")
+    List<EventSuggestEntry> findSuggestEntries();
 }
@@ -0,0 +1,22 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface EventRepositoryCustom {
+    //count 쿼리 없이 limit 만큼만 조회
+    List<Event> findSlice(Specification<Event> spec, Sort sort, int limit);
+
+    //엔티티를 읽지 않고 id, version 만 페이지 단위로 조회
+    Page<EventVersion> findVersions(Specification<Event> spec, Pageable pageable);
+
+    //상태가 from 그대로이고 전이 시각이 dueAt 까지 도래한 이벤트만 to로 바꾸고 ETag가 바뀌도록 version을 올린다.
+    //다음 전이 시각도 to 기준으로 다시 계산한다.
+    int updateEventStatus(Collection<Integer> ids, EventStatus from, EventStatus to, LocalDateTime dueAt);
+}
@@ -0,0 +1,110 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import org.kuroneko.inflearnrestapi.account.Account;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_LOADGRAPH;
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+public class EventRepositoryImpl implements EventRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Event> findSlice(Specification<Event> spec, Sort sort, int limit) {
+        CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> query = builder.createQuery(Event.class);
+        Root<Event> root = query.from(Event.class);
+
+        Predicate predicate = spec.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root).orderBy(toOrders(sort, root, builder));
+
+        return this.entityManager.createQuery(query)
+                .setHint(HINT_LOADGRAPH, this.entityManager.getEntityGraph(Event.WITH_MANAGER))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<EventVersion> findVersions(Specification<Event> spec, Pageable pageable) {
+        CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventVersion> query = builder.createQuery(EventVersion.class);
+        Root<Event> root = query.from(Event.class);
+        Join<Event, Account> manager = root.join("manager", JoinType.LEFT);
+
+        Predicate predicate = spec.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(builder.construct(EventVersion.class, root.get("id"), root.get("version"), manager.get("id")));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(toOrders(pageable.getSort(), root, builder));
+        }
+
+        TypedQuery<EventVersion> typedQuery = this.entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    @Transactional
+    public int updateEventStatus(Collection<Integer> ids, EventStatus from, EventStatus to, LocalDateTime dueAt) {
+        CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Event> update = builder.createCriteriaUpdate(Event.class);
+        Root<Event> root = update.from(Event.class);
+
+        List<String> attributes = EventTimeline.nextAtAttributes(to);
+        Expression<LocalDateTime> nextAt;
+        if (attributes.isEmpty()) {
+            nextAt = builder.nullLiteral(LocalDateTime.class);
+        } else {
+            CriteriaBuilder.Coalesce<LocalDateTime> coalesce = builder.coalesce();
+            attributes.forEach(attribute -> coalesce.value(root.get(attribute)));
+            nextAt = coalesce;
+        }
+
+        update.set(root.<EventStatus>get("eventStatus"), to)
+                .set(root.<Long>get("version"), builder.sum(root.get("version"), 1L))
+                .set(root.<LocalDateTime>get("nextTransitionAt"), nextAt)
+                .where(root.get("id").in(ids),
+                        builder.equal(root.get("eventStatus"), from),
+                        builder.lessThanOrEqualTo(root.get("nextTransitionAt"), dueAt));
+        return this.entityManager.createQuery(update).executeUpdate();
+    }
+
+    private long count(Specification<Event> spec) {
+        CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Event> root = query.from(Event.class);
+
+        Predicate predicate = spec.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(builder.count(root));
+
+        return this.entityManager.createQuery(query).getSingleResult();
+    }
+}
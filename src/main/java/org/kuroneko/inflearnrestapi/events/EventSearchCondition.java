@@ -0,0 +1,62 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import lombok.Data;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import javax.persistence.criteria.Predicate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    GET /api/events 의 필터 조건
+    basePrice, maxPrice 는 각각 이벤트 basePrice의 하한, maxPrice의 상한
+    basePrice, maxPrice가 모두 0 인 무료 이벤트는 maxPrice 조건을 항상 만족하고,
+    basePrice만 있고 maxPrice가 0 인 유료 이벤트는 상한이 없는 이벤트이므로(EventValidator) maxPrice 조건에는 걸리지 않는다.
+    beginEventDateTime, endEventDateTime 은 이벤트 기간의 시작, 끝 범위
+    모든 조건은 Event 테이블의 인덱스와 맞춰서 하나의 where 절로 만든다.
+ */
+@Data
+public class EventSearchCondition {
+
+    private EventStatus eventStatus;
+    private Boolean free;
+    private Boolean offline;
+    private Integer basePrice;
+    private Integer maxPrice;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEventDateTime;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime endEventDateTime;
+
+    public Specification<Event> toSpecification() {
+        return (root, query, builder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (this.eventStatus != null) {
+                predicates.add(builder.equal(root.get("eventStatus"), this.eventStatus));
+            }
+            if (this.free != null) {
+                predicates.add(builder.equal(root.get("free"), this.free));
+            }
+            if (this.offline != null) {
+                predicates.add(builder.equal(root.get("offline"), this.offline));
+            }
+            if (this.basePrice != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.get("basePrice"), this.basePrice));
+            }
+            if (this.maxPrice != null) {
+                predicates.add(builder.or(
+                        builder.and(builder.equal(root.get("basePrice"), 0), builder.equal(root.get("maxPrice"), 0)),
+                        builder.and(builder.notEqual(root.get("maxPrice"), 0), builder.lessThanOrEqualTo(root.get("maxPrice"), this.maxPrice))));
+            }
+            if (this.beginEventDateTime != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.get("beginEventDateTime"), this.beginEventDateTime));
+            }
+            if (this.endEventDateTime != null) {
+                predicates.add(builder.lessThanOrEqualTo(root.get("endEventDateTime"), this.endEventDateTime));
+            }
+            return predicates.isEmpty() ? null : builder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
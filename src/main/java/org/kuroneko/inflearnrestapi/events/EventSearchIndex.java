@@ -0,0 +1,170 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/*
+    name, description, location 에 대한 메모리 역색인
+    term -> (eventId -> 가중치) 형태로 유지하고, 이벤트가 저장될 때마다 해당 이벤트의 term만 갱신한다.
+    검색어의 각 토큰은 정확히 일치하거나 접두어로 일치해야 하며, 점수는 필드 가중치 * idf 의 합이다.
+ */
+@Component
+public class EventSearchIndex extends EventMemoryIndex<Event> {
+
+    private static final float NAME_WEIGHT = 3f;
+    private static final float LOCATION_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final float PREFIX_PENALTY = 0.5f;
+    private static final int MAX_PREFIX_EXPANSIONS = 128;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private final NavigableMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+    private final Map<Integer, Set<String>> documents = new HashMap<>();
+
+    @EventListener
+    public void onEventChange(EventChange change) {
+        index(change.getEvent());
+    }
+
+    public void index(Event event) {
+        change(event);
+    }
+
+    public List<Integer> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, Float> scores = read(() -> score(tokens));
+        if (scores.isEmpty()) {
+            return List.of();
+        }
+
+        PriorityQueue<Map.Entry<Integer, Float>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<Integer, Float> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Integer> ids = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ids.add(top.poll().getKey());
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    //모든 토큰이 일치하는 이벤트의 점수
+    private Map<Integer, Float> score(List<String> tokens) {
+        int documentCount = Math.max(1, this.documents.size());
+        Map<Integer, Float> scores = null;
+        for (String token : tokens) {
+            Map<Integer, Float> matches = match(token, documentCount);
+            if (scores == null) {
+                scores = matches;
+            } else {
+                scores.keySet().retainAll(matches.keySet());
+                scores.replaceAll((id, score) -> score + matches.get(id));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores;
+    }
+
+    private Map<Integer, Float> match(String token, int documentCount) {
+        Map<Integer, Float> matches = new HashMap<>();
+        int expansions = 0;
+        for (Map.Entry<String, Map<Integer, Float>> entry : this.postings.tailMap(token, true).entrySet()) {
+            String term = entry.getKey();
+            if (!term.startsWith(token) || expansions++ >= MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            Map<Integer, Float> documents = entry.getValue();
+            float idf = (float) Math.log(1 + (double) documentCount / documents.size());
+            float boost = term.length() == token.length() ? 1f : PREFIX_PENALTY;
+            documents.forEach((id, weight) -> matches.merge(id, weight * idf * boost, Math::max));
+        }
+        return matches;
+    }
+
+    @Override
+    protected List<Event> load() {
+        return this.eventRepository.findAll();
+    }
+
+    @Override
+    protected Integer idOf(Event event) {
+        return event.getId();
+    }
+
+    @Override
+    protected Long versionOf(Event event) {
+        return event.getVersion();
+    }
+
+    @Override
+    protected void clear() {
+        this.postings.clear();
+        this.documents.clear();
+    }
+
+    @Override
+    protected void add(Event event) {
+        Map<String, Float> terms = new HashMap<>();
+        addTerms(terms, event.getName(), NAME_WEIGHT);
+        addTerms(terms, event.getLocation(), LOCATION_WEIGHT);
+        addTerms(terms, event.getDescription(), DESCRIPTION_WEIGHT);
+
+        terms.forEach((term, weight) -> this.postings.computeIfAbsent(term, t -> new HashMap<>()).put(event.getId(), weight));
+        this.documents.put(event.getId(), terms.keySet());
+    }
+
+    @Override
+    protected void remove(Integer id) {
+        Set<String> terms = this.documents.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Integer, Float> documents = this.postings.get(term);
+            documents.remove(id);
+            if (documents.isEmpty()) {
+                this.postings.remove(term);
+            }
+        }
+    }
+
+    private void addTerms(Map<String, Float> terms, String text, float weight) {
+        tokenize(text).forEach(token -> terms.merge(token, weight, Float::sum));
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,112 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Service
+public class EventService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    //batch_size 마다 flush, clear 해서 insert를 묶어 보내고 영속성 컨텍스트가 커지지 않게 한다.
+    @Transactional
+    public List<Event> createAll(List<Event> events) {
+        for (int i = 0; i < events.size(); i++) {
+            this.entityManager.persist(events.get(i));
+            if ((i + 1) % this.batchSize == 0) {
+                this.entityManager.flush();
+                this.entityManager.clear();
+            }
+        }
+        return events;
+    }
+
+    /*
+        insert 하기 전에 event_seq에서 id를 받아 event에 넣는다.
+        Hibernate가 50개 단위로 미리 받아둔 블록에서 꺼내므로 대부분 DB에 가지 않고, 블록을 다 쓴 경우에만 트랜잭션 밖에서 sequence를 조회한다.
+     */
+    public Integer reserveId(Event event) {
+        SessionFactoryImplementor sessionFactory = this.entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EntityPersister persister = sessionFactory.getMetamodel().entityPersister(Event.class);
+        try (SessionImplementor session = (SessionImplementor) sessionFactory.openSession()) {
+            Integer id = (Integer) persister.getIdentifierGenerator().generate(session, event);
+            event.setId(id);
+            return id;
+        }
+    }
+
+    /*
+        2차 캐시는 노드마다 따로 있어서 다른 노드에서 수정한 Event가 이전 version으로 남아 있을 수 있다.
+        DB에서 읽은 version과 다르면 캐시와 영속성 컨텍스트에서 지우고 DB에서 다시 읽는다.
+     */
+    public Optional<Event> findById(Integer id, Long version) {
+        Optional<Event> optionalEvent = this.eventRepository.findById(id);
+        if (optionalEvent.isPresent() && !Objects.equals(optionalEvent.get().getVersion(), version)) {
+            this.entityManagerFactory.getCache().evict(Event.class, id);
+            this.entityManager.detach(optionalEvent.get());
+            optionalEvent = this.eventRepository.findById(id);
+        }
+        return optionalEvent;
+    }
+
+    //수정하기 전에 읽는 Event도 캐시가 오래되었으면 If-Match 비교와 저장이 실패하므로 DB의 version으로 확인한다.
+    public Optional<Event> findCurrent(Integer id) {
+        return this.eventRepository.findVersionById(id)
+                .flatMap(version -> findById(id, version.getVersion()));
+    }
+
+    /*
+        모든 Event를 한 줄에 하나씩 JSON으로 쓴다. (NDJSON)
+        하나의 읽기 트랜잭션 안에서 커서로 읽어 export 도중의 변경이 섞이지 않게 하고,
+        쓴 Event는 바로 detach 해서 영속성 컨텍스트가 커지지 않게 한다.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public long exportTo(OutputStream out) throws IOException {
+        long count = 0;
+        JsonGenerator generator = this.objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (Stream<Event> events = this.eventRepository.streamAllOrderById()) {
+            for (Event event : (Iterable<Event>) events::iterator) {
+                generator.writeObject(event);
+                generator.writeRaw('\n');
+                this.entityManager.detach(event);
+                if (++count % EventRepository.EXPORT_FETCH_SIZE == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        generator.flush();
+        return count;
+    }
+}
@@ -0,0 +1,117 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/*
+    이벤트 통계를 메모리에서 유지한다.
+    시작할 때 한번 집계하고, 이후에는 EventChange 마다 해당 이벤트의 이전 값을 빼고 새 값을 더한다.
+ */
+@Component
+public class EventStatistics extends EventMemoryIndex<EventStatsEntry> {
+
+    //basePrice 구간의 하한. 마지막 구간은 상한이 없다.
+    private static final int[] PRICE_BOUNDS = {0, 1, 10000, 50000};
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private final Map<Integer, EventStatsEntry> entries = new HashMap<>();
+    private final Map<EventStatus, Long> byStatus = new EnumMap<>(EventStatus.class);
+    private final long[] byPriceRange = new long[PRICE_BOUNDS.length];
+    private long free;
+    private long offline;
+
+    @EventListener
+    public void onEventChange(EventChange change) {
+        change(EventStatsEntry.of(change.getEvent()));
+    }
+
+    public EventStats snapshot() {
+        return read(() -> {
+            long total = this.entries.size();
+            Map<EventStatus, Long> status = new EnumMap<>(EventStatus.class);
+            for (EventStatus eventStatus : EventStatus.values()) {
+                status.put(eventStatus, this.byStatus.getOrDefault(eventStatus, 0L));
+            }
+            Map<String, Long> priceRange = new LinkedHashMap<>();
+            for (int i = 0; i < PRICE_BOUNDS.length; i++) {
+                priceRange.put(priceRangeName(i), this.byPriceRange[i]);
+            }
+            return new EventStats(total, status, this.free, total - this.free,
+                    this.offline, total - this.offline, priceRange);
+        });
+    }
+
+    @Override
+    protected List<EventStatsEntry> load() {
+        return this.eventRepository.findStatsEntries();
+    }
+
+    @Override
+    protected Integer idOf(EventStatsEntry entry) {
+        return entry.getId();
+    }
+
+    @Override
+    protected Long versionOf(EventStatsEntry entry) {
+        return entry.getVersion();
+    }
+
+    @Override
+    protected void clear() {
+        this.entries.clear();
+        this.byStatus.clear();
+        Arrays.fill(this.byPriceRange, 0);
+        this.free = 0;
+        this.offline = 0;
+    }
+
+    @Override
+    protected void add(EventStatsEntry entry) {
+        this.entries.put(entry.getId(), entry);
+        count(entry, 1);
+    }
+
+    @Override
+    protected void remove(Integer id) {
+        EventStatsEntry previous = this.entries.remove(id);
+        if (previous != null) {
+            count(previous, -1);
+        }
+    }
+
+    private void count(EventStatsEntry entry, int delta) {
+        if (entry.getEventStatus() != null) {
+            this.byStatus.merge(entry.getEventStatus(), (long) delta, Long::sum);
+        }
+        this.byPriceRange[priceRange(entry.getBasePrice())] += delta;
+        if (entry.isFree()) {
+            this.free += delta;
+        }
+        if (entry.isOffline()) {
+            this.offline += delta;
+        }
+    }
+
+    private static int priceRange(int basePrice) {
+        int range = 0;
+        for (int i = 0; i < PRICE_BOUNDS.length; i++) {
+            if (basePrice >= PRICE_BOUNDS[i]) {
+                range = i;
+            }
+        }
+        return range;
+    }
+
+    private static String priceRangeName(int range) {
+        if (range == PRICE_BOUNDS.length - 1) {
+            return PRICE_BOUNDS[range] + "-";
+        }
+        int upper = PRICE_BOUNDS[range + 1] - 1;
+        return PRICE_BOUNDS[range] == upper ? String.valueOf(upper) : PRICE_BOUNDS[range] + "-" + upper;
+    }
+}
@@ -0,0 +1,29 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import lombok.Getter;
+
+import java.util.Map;
+
+//GET /api/events/stats 응답
+@Getter
+public class EventStats {
+
+    private final long total;
+    private final Map<EventStatus, Long> byStatus;
+    private final long free;
+    private final long paid;
+    private final long offline;
+    private final long online;
+    private final Map<String, Long> byPriceRange;
+
+    public EventStats(long total, Map<EventStatus, Long> byStatus, long free, long paid,
+                      long offline, long online, Map<String, Long> byPriceRange) {
+        this.total = total;
+        this.byStatus = byStatus;
+        this.free = free;
+        this.paid = paid;
+        this.offline = offline;
+        this.online = online;
+        this.byPriceRange = byPriceRange;
+    }
+}
@@ -0,0 +1,28 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import lombok.Getter;
+
+//통계 집계에 필요한 이벤트의 값
+@Getter
+public class EventStatsEntry {
+
+    private final Integer id;
+    private final EventStatus eventStatus;
+    private final boolean free;
+    private final boolean offline;
+    private final int basePrice;
+    private final Long version;
+
+    public EventStatsEntry(Integer id, EventStatus eventStatus, boolean free, boolean offline, int basePrice, Long version) {
+        this.id = id;
+        this.eventStatus = eventStatus;
+        this.free = free;
+        this.offline = offline;
+        this.basePrice = basePrice;
+        this.version = version;
+    }
+
+    public static EventStatsEntry of(Event event) {
+        return new EventStatsEntry(event.getId(), event.getEventStatus(), event.isFree(), event.isOffline(), event.getBasePrice(), event.getVersion());
+    }
+}
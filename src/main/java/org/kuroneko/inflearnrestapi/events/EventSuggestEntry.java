@@ -0,0 +1,24 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import lombok.Getter;
+
+//자동완성에 필요한 이벤트의 값
+@Getter
+public class EventSuggestEntry {
+
+    private final Integer id;
+    private final String name;
+    private final String location;
+    private final Long version;
+
+    public EventSuggestEntry(Integer id, String name, String location, Long version) {
+        this.id = id;
+        this.name = name;
+        this.location = location;
+        this.version = version;
+    }
+
+    public static EventSuggestEntry of(Event event) {
+        return new EventSuggestEntry(event.getId(), event.getName(), event.getLocation(), event.getVersion());
+    }
+}
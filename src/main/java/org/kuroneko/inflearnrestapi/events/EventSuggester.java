@@ -0,0 +1,81 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+    이벤트 이름, 장소 자동완성.
+    인기도는 같은 이름(장소)을 쓰는 이벤트의 수다. 반복해서 열리는 이벤트와 자주 쓰는 장소가 먼저 나오고, 수가 같으면 가나다순이다.
+    신청 인원은 다른 노드의 신청이 EventChange로 오지 않아서 노드마다 순위가 달라지므로 쓰지 않는다.
+    이벤트가 저장되면 이전 값을 빼고 새 값을 넣는다.
+ */
+@Component
+public class EventSuggester extends EventMemoryIndex<EventSuggestEntry> {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private final SuggestionTrie names = new SuggestionTrie();
+    private final SuggestionTrie locations = new SuggestionTrie();
+    private final Map<Integer, EventSuggestEntry> documents = new HashMap<>();
+
+    @EventListener
+    public void onEventChange(EventChange change) {
+        index(change.getEvent());
+    }
+
+    public void index(Event event) {
+        change(EventSuggestEntry.of(event));
+    }
+
+    public List<SuggestionTrie.Suggestion> suggestNames(String prefix, int size) {
+        return read(() -> this.names.suggest(prefix, size));
+    }
+
+    public List<SuggestionTrie.Suggestion> suggestLocations(String prefix, int size) {
+        return read(() -> this.locations.suggest(prefix, size));
+    }
+
+    @Override
+    protected List<EventSuggestEntry> load() {
+        return this.eventRepository.findSuggestEntries();
+    }
+
+    @Override
+    protected Integer idOf(EventSuggestEntry entry) {
+        return entry.getId();
+    }
+
+    @Override
+    protected Long versionOf(EventSuggestEntry entry) {
+        return entry.getVersion();
+    }
+
+    @Override
+    protected void clear() {
+        this.names.clear();
+        this.locations.clear();
+        this.documents.clear();
+    }
+
+    @Override
+    protected void add(EventSuggestEntry entry) {
+        this.documents.put(entry.getId(), entry);
+        this.names.add(entry.getName());
+        this.locations.add(entry.getLocation());
+    }
+
+    @Override
+    protected void remove(Integer id) {
+        EventSuggestEntry previous = this.documents.remove(id);
+        if (previous != null) {
+            this.names.remove(previous.getName());
+            this.locations.remove(previous.getLocation());
+        }
+    }
+}
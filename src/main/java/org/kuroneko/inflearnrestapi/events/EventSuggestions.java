@@ -0,0 +1,18 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import lombok.Getter;
+
+import java.util.List;
+
+//GET /api/events/suggest 응답
+@Getter
+public class EventSuggestions {
+
+    private final List<SuggestionTrie.Suggestion> names;
+    private final List<SuggestionTrie.Suggestion> locations;
+
+    public EventSuggestions(List<SuggestionTrie.Suggestion> names, List<SuggestionTrie.Suggestion> locations) {
+        this.names = names;
+        this.locations = locations;
+    }
+}
@@ -0,0 +1,73 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.time.LocalDateTime;
+
+/*
+    목록 조회용 projection. 엔티티 대신 목록에 그리는 컬럼과 manager id만 조회한다.
+    Event를 그대로 직렬화한 것과 같은 JSON이 나오도록 필드 순서와 이름, collection rel을 Event와 맞춘다.
+ */
+@Getter
+@Relation(collectionRelation = "eventList")
+public class EventSummary {
+
+    private final Integer id;
+    private final String name;
+    private final String description;
+    private final LocalDateTime beginEnrollmentDateTime;
+    private final LocalDateTime closeEnrollmentDateTime;
+    private final LocalDateTime beginEventDateTime;
+    private final LocalDateTime endEventDateTime;
+    private final String location;
+    private final int basePrice;
+    private final int maxPrice;
+    private final int limitOfEnrollment;
+    private final boolean offline;
+    private final boolean free;
+    //AccountSerializer와 같이 {"id": ...} 로 쓴다.
+    private final Manager manager;
+    private final EventStatus eventStatus;
+
+    @JsonIgnore
+    private final Long version;
+
+    public EventSummary(Integer id, String name, String description,
+                        LocalDateTime beginEnrollmentDateTime, LocalDateTime closeEnrollmentDateTime,
+                        LocalDateTime beginEventDateTime, LocalDateTime endEventDateTime,
+                        String location, int basePrice, int maxPrice, int limitOfEnrollment,
+                        boolean offline, boolean free, Integer managerId, EventStatus eventStatus, Long version) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.beginEnrollmentDateTime = beginEnrollmentDateTime;
+        this.closeEnrollmentDateTime = closeEnrollmentDateTime;
+        this.beginEventDateTime = beginEventDateTime;
+        this.endEventDateTime = endEventDateTime;
+        this.location = location;
+        this.basePrice = basePrice;
+        this.maxPrice = maxPrice;
+        this.limitOfEnrollment = limitOfEnrollment;
+        this.offline = offline;
+        this.free = free;
+        this.manager = managerId == null ? null : new Manager(managerId);
+        this.eventStatus = eventStatus;
+        this.version = version;
+    }
+
+    @JsonIgnore
+    public EventVersion getEventVersion() {
+        return new EventVersion(this.id, this.version, this.manager == null ? null : this.manager.getId());
+    }
+
+    @Getter
+    public static class Manager {
+        private final Integer id;
+
+        private Manager(Integer id) {
+            this.id = id;
+        }
+    }
+}
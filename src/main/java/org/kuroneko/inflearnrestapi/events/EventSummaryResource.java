@@ -0,0 +1,13 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import lombok.NoArgsConstructor;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+
+//목록 조회에서 EventResource 대신 사용한다.
+@NoArgsConstructor
+public class EventSummaryResource extends EntityModel<EventSummary> {
+    public EventSummaryResource(EventSummary eventSummary, Link... links) {
+        super(eventSummary, links);
+    }
+}
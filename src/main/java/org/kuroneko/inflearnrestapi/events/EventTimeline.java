@@ -0,0 +1,81 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+    상태 전이 계산에 필요한 값만 담은 이벤트의 일정.
+    PUBLISHED -> BEGAN_ENROLLMEND -> CLOSED_ENROLLMENT -> STARTED -> ENDED 순서로만 바뀐다.
+    DRAFT는 공개되기 전이므로 날짜가 지나도 바꾸지 않는다.
+ */
+@Getter
+public class EventTimeline {
+
+    private static final EventStatus[] STEPS = {
+            EventStatus.BEGAN_ENROLLMEND, EventStatus.CLOSED_ENROLLMENT, EventStatus.STARTED, EventStatus.ENDED
+    };
+    private static final String[] ATTRIBUTES = {
+            "beginEnrollmentDateTime", "closeEnrollmentDateTime", "beginEventDateTime", "endEventDateTime"
+    };
+
+    private final Integer id;
+    private final EventStatus status;
+    private final LocalDateTime[] times;
+
+    public EventTimeline(Integer id, EventStatus status,
+                         LocalDateTime beginEnrollmentDateTime, LocalDateTime closeEnrollmentDateTime,
+                         LocalDateTime beginEventDateTime, LocalDateTime endEventDateTime) {
+        this.id = id;
+        this.status = status;
+        this.times = new LocalDateTime[]{
+                beginEnrollmentDateTime, closeEnrollmentDateTime, beginEventDateTime, endEventDateTime
+        };
+    }
+
+    public static EventTimeline of(Event event) {
+        return new EventTimeline(event.getId(), event.getEventStatus(),
+                event.getBeginEnrollmentDateTime(), event.getCloseEnrollmentDateTime(),
+                event.getBeginEventDateTime(), event.getEndEventDateTime());
+    }
+
+    //다음 전이 시각, 더 바뀔 상태가 없으면 null
+    public LocalDateTime nextAt() {
+        for (int i = stepIndex(this.status) + 1; i < STEPS.length; i++) {
+            if (this.times[i] != null) {
+                return this.times[i];
+            }
+        }
+        return null;
+    }
+
+    //now 시점에 있어야 할 상태. 여러 단계가 지났으면 마지막 단계로 바로 간다.
+    public EventStatus statusAt(LocalDateTime now) {
+        EventStatus target = this.status;
+        for (int i = stepIndex(this.status) + 1; i < STEPS.length; i++) {
+            if (this.times[i] != null && !this.times[i].isAfter(now)) {
+                target = STEPS[i];
+            }
+        }
+        return target;
+    }
+
+    //status 다음 단계들의 시각 속성. 이 중 처음으로 null이 아닌 값이 nextAt() 이다.
+    static List<String> nextAtAttributes(EventStatus status) {
+        return Arrays.asList(ATTRIBUTES).subList(Math.min(stepIndex(status) + 1, ATTRIBUTES.length), ATTRIBUTES.length);
+    }
+
+    private static int stepIndex(EventStatus status) {
+        switch (status) {
+            case BEGAN_ENROLLMEND: return 0;
+            case CLOSED_ENROLLMENT: return 1;
+            case STARTED: return 2;
+            case ENDED: return 3;
+            case PUBLISHED: return -1;
+            //DRAFT는 publish API로 공개되기 전까지 다음 단계가 없다.
+            default: return STEPS.length;
+        }
+    }
+}
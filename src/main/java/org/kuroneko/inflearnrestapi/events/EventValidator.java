@@ -10,12 +10,21 @@ import java.time.LocalDateTime;
 public class EventValidator{
 
     public void validate(EventDTO eventDTO, Errors errors) {
+        validatePrices(eventDTO, errors);
+        validateDates(eventDTO, errors);
+    }
+
+    //basePrice, maxPrice 중 하나라도 바뀌었을 때
+    public void validatePrices(EventDTO eventDTO, Errors errors) {
         if (eventDTO.getBasePrice() > eventDTO.getMaxPrice() && eventDTO.getMaxPrice() != 0) {
             errors.rejectValue("basePrice", "wrongValue", "BasePrice is wrong");
             errors.rejectValue("maxPrice", "wrongValue", "MaxPrice is wrong");
             errors.reject("wrongPrices", "Values wrong");
         }
+    }
 
+    //날짜 필드 중 하나라도 바뀌었을 때
+    public void validateDates(EventDTO eventDTO, Errors errors) {
         @NotNull LocalDateTime endEventDateTime = eventDTO.getEndEventDateTime();
 
         if (endEventDateTime.isBefore(eventDTO.getBeginEventDateTime()) ||
@@ -23,8 +32,6 @@ public class EventValidator{
                 endEventDateTime.isBefore(eventDTO.getBeginEnrollmentDateTime())) {
             errors.rejectValue("endEventDateTime", "wrongValue", "EndEventDateTime wrong");
         }
-
-
     }
 
 }
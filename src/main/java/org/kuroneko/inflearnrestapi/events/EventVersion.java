@@ -0,0 +1,23 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import lombok.Getter;
+
+//ETag 계산용으로 엔티티 대신 조회하는 값
+@Getter
+public class EventVersion {
+
+    private final Integer id;
+    private final Long version;
+    private final Integer managerId;
+
+    public EventVersion(Integer id, Long version, Integer managerId) {
+        this.id = id;
+        this.version = version;
+        this.managerId = managerId;
+    }
+
+    public static EventVersion of(Event event) {
+        Integer managerId = event.getManager() == null ? null : event.getManager().getId();
+        return new EventVersion(event.getId(), event.getVersion(), managerId);
+    }
+}
@@ -0,0 +1,165 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+    이벤트 생성 쓰기 지연 모드. (Prefer: respond-async)
+    요청 스레드는 검증과 id 예약만 하고 큐에 넣은 뒤 바로 응답하고, 스레드 하나가 큐에 쌓인 이벤트를 batch-size 만큼 한 트랜잭션으로 저장한다.
+    큐가 가득 차면 submit이 false를 돌려주고 컨트롤러가 503으로 응답한다.
+    종료할 때는 새 요청을 받지 않고 큐에 남은 이벤트를 모두 저장한 뒤에 멈춘다.
+ */
+@Slf4j
+@Component
+public class EventWriteBehind implements SmartLifecycle {
+
+    private static final int MAX_FAILED = 1000;
+    private static final long DRAIN_TIMEOUT_SECONDS = 30;
+
+    @Autowired private EventService eventService;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+
+    @Value("${my-app.event-write-behind.queue-capacity:1000}")
+    private int queueCapacity;
+    @Value("${my-app.event-write-behind.batch-size:100}")
+    private int batchSize;
+
+    private volatile BlockingQueue<Event> queue;
+    //큐에 있거나 저장 중인 이벤트. 저장이 끝나면 빠지므로 여기 없고 DB에 있으면 저장된 것이다.
+    private final Map<Integer, Event> pending = new ConcurrentHashMap<>();
+    private final Map<Integer, Boolean> failed = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Boolean> eldest) {
+            return size() > MAX_FAILED;
+        }
+    });
+    private volatile boolean accepting;
+    private volatile Thread worker;
+
+    public static boolean prefersAsync(String prefer) {
+        return prefer != null && prefer.toLowerCase(Locale.ROOT).contains("respond-async");
+    }
+
+    //id를 예약하고 큐에 넣는다. 큐가 가득 찼거나 종료 중이면 false
+    public boolean submit(Event event) {
+        if (!this.accepting) {
+            return false;
+        }
+        Integer id = this.eventService.reserveId(event);
+        this.pending.put(id, event);
+        if (!this.queue.offer(event)) {
+            this.pending.remove(id);
+            return false;
+        }
+        return true;
+    }
+
+    public Optional<EventWriteStatus> statusOf(Integer id) {
+        if (this.pending.containsKey(id)) {
+            return Optional.of(EventWriteStatus.PENDING);
+        }
+        if (this.failed.containsKey(id)) {
+            return Optional.of(EventWriteStatus.FAILED);
+        }
+        return Optional.empty();
+    }
+
+    private void run() {
+        List<Event> batch = new ArrayList<>(this.batchSize);
+        while (this.accepting || !this.queue.isEmpty()) {
+            try {
+                Event first = this.queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                this.queue.drainTo(batch, this.batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Event> batch) {
+        try {
+            this.eventService.createAll(batch);
+            batch.forEach(this::created);
+        } catch (RuntimeException e) {
+            //하나 때문에 전부 실패하지 않도록 하나씩 다시 저장한다.
+            log.warn("Failed to write {} events in a batch, retrying one by one", batch.size(), e);
+            batch.forEach(this::writeOne);
+        }
+    }
+
+    private void writeOne(Event event) {
+        //롤백되어도 persist 할 때 넣은 version이 남아있어서 다시 새 엔티티로 인식되도록 지운다.
+        event.setVersion(null);
+        try {
+            this.eventService.createAll(List.of(event));
+            created(event);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write event {}", event.getId(), e);
+            this.failed.put(event.getId(), Boolean.TRUE);
+            this.pending.remove(event.getId());
+        }
+    }
+
+    private void created(Event event) {
+        this.eventPublisher.publishEvent(EventChange.created(event));
+        this.pending.remove(event.getId());
+    }
+
+    //웹 서버가 멈춘 뒤에 멈추도록 웹 서버 lifecycle 보다 낮은 phase를 쓴다.
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 2;
+    }
+
+    @Override
+    public void start() {
+        this.queue = new ArrayBlockingQueue<>(this.queueCapacity);
+        this.accepting = true;
+        Thread thread = new Thread(this::run, "event-write-behind");
+        thread.setDaemon(true);
+        this.worker = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        this.accepting = false;
+        Thread thread = this.worker;
+        this.worker = null;
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(DRAIN_TIMEOUT_SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("Stopped with {} events not written", this.queue.size());
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.worker != null;
+    }
+}
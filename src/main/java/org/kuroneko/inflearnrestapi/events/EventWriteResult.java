@@ -0,0 +1,16 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import lombok.Getter;
+
+//GET /api/events/{id}/write-status 응답
+@Getter
+public class EventWriteResult {
+
+    private final Integer id;
+    private final EventWriteStatus status;
+
+    public EventWriteResult(Integer id, EventWriteStatus status) {
+        this.id = id;
+        this.status = status;
+    }
+}
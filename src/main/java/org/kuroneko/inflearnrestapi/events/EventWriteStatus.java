@@ -0,0 +1,6 @@
+package org.kuroneko.inflearnrestapi.events;
+
+//쓰기 지연 모드로 생성 요청한 이벤트의 저장 상태
+public enum EventWriteStatus {
+    PENDING, CREATED, FAILED
+}
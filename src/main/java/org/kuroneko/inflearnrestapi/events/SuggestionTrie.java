@@ -0,0 +1,176 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import lombok.Getter;
+
+import java.util.*;
+
+/*
+    자동완성용 trie. 자식은 정렬된 char 배열과 이진 탐색으로 찾아서 노드마다 Map을 두지 않는다.
+    노드마다 하위 트리에서 count가 높은 상위 TOP_K개를 미리 계산해두므로 조회는 접두어 길이 만큼만 내려가면 된다.
+    값이 추가, 삭제되면 바뀐 경로의 노드만 아래에서부터 다시 계산한다.
+    동기화는 하지 않으므로 호출하는 쪽에서 잠금을 관리한다.
+ */
+class SuggestionTrie {
+
+    static final int TOP_K = 10;
+
+    private static final Comparator<Suggestion> RANK = Comparator.comparingInt(Suggestion::getCount).reversed()
+            .thenComparing(Suggestion::getText);
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+    private Node root = new Node();
+
+    void add(String text) {
+        String key = normalize(text);
+        if (key.isEmpty()) {
+            return;
+        }
+        Node[] path = new Node[key.length() + 1];
+        Node node = this.root;
+        path[0] = node;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+            path[i + 1] = node;
+        }
+        int count = node.terminal == null ? 1 : node.terminal.getCount() + 1;
+        String display = node.terminal == null ? text.trim() : node.terminal.getText();
+        node.terminal = new Suggestion(display, count);
+        updateTop(path, key);
+    }
+
+    void remove(String text) {
+        String key = normalize(text);
+        if (key.isEmpty()) {
+            return;
+        }
+        Node[] path = new Node[key.length() + 1];
+        Node node = this.root;
+        path[0] = node;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.child(key.charAt(i));
+            if (node == null) {
+                return;
+            }
+            path[i + 1] = node;
+        }
+        if (node.terminal == null) {
+            return;
+        }
+        int count = node.terminal.getCount() - 1;
+        node.terminal = count == 0 ? null : new Suggestion(node.terminal.getText(), count);
+        updateTop(path, key);
+    }
+
+    void clear() {
+        this.root = new Node();
+    }
+
+    List<Suggestion> suggest(String prefix, int size) {
+        String key = normalize(prefix);
+        Node node = this.root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        return List.of(Arrays.copyOf(node.top, Math.min(size, node.top.length)));
+    }
+
+    //잎에서 루트 방향으로 top을 다시 계산하고, 비어있는 노드는 부모에서 떼어낸다.
+    private void updateTop(Node[] path, String key) {
+        for (int i = path.length - 1; i >= 0; i--) {
+            Node node = path[i];
+            node.recomputeTop();
+            if (i > 0 && node.terminal == null && node.keys.length == 0) {
+                path[i - 1].removeChild(key.charAt(i - 1));
+            }
+        }
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Getter
+    public static class Suggestion {
+        private final String text;
+        private final int count;
+
+        Suggestion(String text, int count) {
+            this.text = text;
+            this.count = count;
+        }
+    }
+
+    private static class Node {
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private Suggestion terminal;
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(this.keys, c);
+            return index < 0 ? null : this.children[index];
+        }
+
+        Node childOrCreate(char c) {
+            int index = Arrays.binarySearch(this.keys, c);
+            if (index >= 0) {
+                return this.children[index];
+            }
+            int insert = -index - 1;
+            Node child = new Node();
+            this.keys = insert(this.keys, insert, c);
+            Node[] children = new Node[this.children.length + 1];
+            System.arraycopy(this.children, 0, children, 0, insert);
+            children[insert] = child;
+            System.arraycopy(this.children, insert, children, insert + 1, this.children.length - insert);
+            this.children = children;
+            return child;
+        }
+
+        void removeChild(char c) {
+            int index = Arrays.binarySearch(this.keys, c);
+            if (index < 0) {
+                return;
+            }
+            char[] keys = new char[this.keys.length - 1];
+            Node[] children = new Node[this.children.length - 1];
+            System.arraycopy(this.keys, 0, keys, 0, index);
+            System.arraycopy(this.keys, index + 1, keys, index, keys.length - index);
+            System.arraycopy(this.children, 0, children, 0, index);
+            System.arraycopy(this.children, index + 1, children, index, children.length - index);
+            this.keys = keys;
+            this.children = children;
+        }
+
+        void recomputeTop() {
+            PriorityQueue<Suggestion> heap = new PriorityQueue<>(RANK.reversed());
+            if (this.terminal != null) {
+                heap.offer(this.terminal);
+            }
+            for (Node child : this.children) {
+                for (Suggestion suggestion : child.top) {
+                    heap.offer(suggestion);
+                    if (heap.size() > TOP_K) {
+                        heap.poll();
+                    }
+                }
+            }
+            Suggestion[] top = heap.toArray(new Suggestion[0]);
+            Arrays.sort(top, RANK);
+            this.top = top;
+        }
+
+        private static char[] insert(char[] keys, int index, char c) {
+            char[] result = new char[keys.length + 1];
+            System.arraycopy(keys, 0, result, 0, index);
+            result[index] = c;
+            System.arraycopy(keys, index, result, index + 1, keys.length - index);
+            return result;
+        }
+    }
+}
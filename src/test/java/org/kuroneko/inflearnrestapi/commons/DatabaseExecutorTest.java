@@ -0,0 +1,87 @@
+package org.kuroneko.inflearnrestapi.commons;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseExecutorTest {
+
+    DatabaseExecutor executor;
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:executor;DB_CLOSE_DELAY=-1", "sa", "");
+        executor = new DatabaseExecutor();
+        ReflectionTestUtils.setField(executor, "dataSource", dataSource);
+        ReflectionTestUtils.setField(executor, "transactionManager", new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(executor, "queueCapacity", 10);
+        ReflectionTestUtils.setField(executor, "timeout", Duration.ofMillis(500));
+        executor.init();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void readOnly() throws Exception {
+        CompletableFuture<String> future = executor.readOnly(() -> 1, result -> "rendered " + result);
+        assertEquals("rendered 1", future.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("timeout으로 먼저 응답했으면 query가 끝나도 render 하지 않는다")
+    public void readOnly_Timeout() throws Exception {
+        AtomicBoolean rendered = new AtomicBoolean();
+        CompletableFuture<Object> future = executor.readOnly(() -> {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 1;
+        }, result -> rendered.getAndSet(true));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof TimeoutException);
+        Thread.sleep(1000);
+        assertFalse(rendered.get());
+    }
+
+    @Test
+    @DisplayName("timeout이 지나면 실행 중인 query도 취소되어 커넥션을 돌려준다")
+    public void readOnly_CancelQuery() throws Exception {
+        CompletableFuture<Throwable> cancelled = new CompletableFuture<>();
+        CompletableFuture<Long> future = executor.readOnly(() -> {
+            try {
+                return jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM SYSTEM_RANGE(1, 100000) A, SYSTEM_RANGE(1, 100000) B WHERE A.X + B.X = 3", Long.class);
+            } catch (RuntimeException e) {
+                cancelled.complete(e);
+                throw e;
+            }
+        }, result -> result);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof TimeoutException);
+        assertTrue(cancelled.get(5, TimeUnit.SECONDS) instanceof QueryTimeoutException);
+    }
+}
@@ -0,0 +1,99 @@
+package org.kuroneko.inflearnrestapi.commons;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kuroneko.inflearnrestapi.account.Account;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyKeysTest {
+
+    IdempotencyKeys idempotencyKeys;
+    Account account = Account.builder().id(1).build();
+
+    @BeforeEach
+    public void setUp() {
+        idempotencyKeys = new IdempotencyKeys();
+        ReflectionTestUtils.setField(idempotencyKeys, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(idempotencyKeys, "handlerAdapter", new RequestMappingHandlerAdapter());
+        ReflectionTestUtils.setField(idempotencyKeys, "maximumWeight", DataSize.ofBytes(256));
+        ReflectionTestUtils.setField(idempotencyKeys, "ttl", Duration.ofHours(1));
+        idempotencyKeys.init();
+    }
+
+    @Test
+    @DisplayName("저장한 응답은 직렬화한 byte로 돌려주고 크기의 합으로 제한한다")
+    public void replaySerializedBody() {
+        AtomicInteger calls = new AtomicInteger();
+        ResponseEntity<?> first = idempotencyKeys.execute(account, "create", "key", "request",
+                () -> ResponseEntity.status(HttpStatus.CREATED).body("created " + calls.incrementAndGet()));
+        ResponseEntity<?> replayed = idempotencyKeys.execute(account, "create", "key", "request",
+                () -> ResponseEntity.ok("created " + calls.incrementAndGet()));
+
+        assertEquals(1, calls.get());
+        assertEquals("created 1", first.getBody());
+        assertEquals(HttpStatus.CREATED, replayed.getStatusCode());
+        assertEquals("created 1", new String((byte[]) replayed.getBody(), StandardCharsets.UTF_8));
+        assertEquals("true", replayed.getHeaders().getFirst(IdempotencyKeys.REPLAYED_HEADER));
+
+        for (int i = 0; i < 20; i++) {
+            String key = "large-" + i;
+            idempotencyKeys.execute(account, "batch", key, "request", () -> ResponseEntity.ok(key.repeat(10)));
+        }
+        assertTrue(idempotencyKeys.weightedSize() <= 256);
+    }
+
+    @Test
+    @DisplayName("처리 중인 요청은 크기 제한을 넘어도 지우지 않아서 같은 키의 요청은 기다렸다가 그 응답을 받는다")
+    public void keepInFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<ResponseEntity<?>> first = CompletableFuture.supplyAsync(() ->
+                idempotencyKeys.execute(account, "create", "slow", "request", () -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return ResponseEntity.ok("slow");
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        //크기 제한을 넘도록 다른 응답을 저장한다.
+        for (int i = 0; i < 20; i++) {
+            String key = "large-" + i;
+            idempotencyKeys.execute(account, "batch", key, "request", () -> ResponseEntity.ok(key.repeat(10)));
+        }
+        assertTrue(idempotencyKeys.weightedSize() <= 256);
+
+        CompletableFuture<ResponseEntity<?>> retry = CompletableFuture.supplyAsync(() ->
+                idempotencyKeys.execute(account, "create", "slow", "request", () -> {
+                    calls.incrementAndGet();
+                    return ResponseEntity.ok("retry");
+                }));
+        Thread.sleep(200);
+        assertFalse(retry.isDone());
+        release.countDown();
+
+        assertEquals("slow", first.get(5, TimeUnit.SECONDS).getBody());
+        assertEquals("slow", new String((byte[]) retry.get(5, TimeUnit.SECONDS).getBody(), StandardCharsets.UTF_8));
+        assertEquals(1, calls.get());
+    }
+}
@@ -0,0 +1,139 @@
+package org.kuroneko.inflearnrestapi.commons;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kuroneko.inflearnrestapi.account.Account;
+import org.kuroneko.inflearnrestapi.account.AccountRepository;
+import org.kuroneko.inflearnrestapi.account.AccountRole;
+import org.kuroneko.inflearnrestapi.account.AccountService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {
+        "my-app.rate-limit.account.capacity=2",
+        "my-app.rate-limit.account.refill-per-second=0.1",
+        "my-app.rate-limit.client.capacity=10",
+        "my-app.rate-limit.client.refill-per-second=0.01"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RateLimitFilterTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    AccountService accountService;
+    @Autowired
+    AccountRepository accountRepository;
+    @Autowired
+    AppProperties appProperties;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        this.accountRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("계정별 제한을 넘으면 이벤트 쓰기 요청은 429, 조회는 제한하지 않는다")
+    public void accountLimit() throws Exception {
+        String bearer = getBearer();
+        double rejected = rejected("account");
+
+        for (int i = 0; i < 2; i++) {
+            this.mockMvc.perform(post("/api/events")
+                    .header(HttpHeaders.AUTHORIZATION, bearer)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{}"))
+                    .andExpect(status().isBadRequest());
+        }
+        this.mockMvc.perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"))
+                .andExpect(jsonPath("errors[0].code").value("tooManyRequests"))
+                .andExpect(jsonPath("_links.index").exists());
+
+        this.mockMvc.perform(get("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk());
+        assertEquals(rejected + 1, rejected("account"));
+    }
+
+    @Test
+    @DisplayName("계정 제한으로 거절된 요청은 같은 client의 다른 계정 몫을 쓰지 않는다")
+    public void accountLimit_KeepClientTokens() throws Exception {
+        String bearer = getBearer();
+        for (int i = 0; i < 2; i++) {
+            this.mockMvc.perform(post("/api/events")
+                    .header(HttpHeaders.AUTHORIZATION, bearer)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{}"))
+                    .andExpect(status().isBadRequest());
+        }
+        //client의 capacity(10)보다 많이 거절되어도 client 토큰은 줄지 않는다.
+        for (int i = 0; i < 10; i++) {
+            this.mockMvc.perform(post("/api/events")
+                    .header(HttpHeaders.AUTHORIZATION, bearer)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{}"))
+                    .andExpect(status().isTooManyRequests());
+        }
+
+        String other = getBearer("other@email.com");
+        this.mockMvc.perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, other)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private double rejected(String limit) {
+        return this.meterRegistry.counter(RateLimitFilter.REJECTED_METRIC, "limit", limit).count();
+    }
+
+    private String getBearer() throws Exception {
+        return getBearer(appProperties.getUserUsername());
+    }
+
+    private String getBearer(String email) throws Exception {
+        Account account = Account.builder()
+                .email(email)
+                .password(appProperties.getUserPassword())
+                .roles(Set.of(AccountRole.ADMIN, AccountRole.USER))
+                .build();
+        this.accountService.savePassword(account);
+
+        String contentAsString = this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic(appProperties.getClientId(), appProperties.getClientSecret()))
+                .param("grant_type", "password")
+                .param("username", email)
+                .param("password", appProperties.getUserPassword()))
+                .andReturn().getResponse().getContentAsString();
+        return "Bearer " + new Jackson2JsonParser().parseMap(contentAsString).get("access_token").toString();
+    }
+}
@@ -0,0 +1,90 @@
+package org.kuroneko.inflearnrestapi.commons;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    AtomicLong now;
+    RateLimiter limiter;
+
+    @BeforeEach
+    public void setUp() {
+        now = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+        //3개 까지 연달아, 초당 2개씩 채워진다.
+        limiter = new RateLimiter(new AppProperties.Limit(3, 2), now::get);
+    }
+
+    @Test
+    @DisplayName("capacity 만큼 연달아 요청하면 다음 요청은 토큰이 채워질 때까지 기다려야 한다")
+    public void burst() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire(1));
+        }
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), limiter.tryAcquire(1));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(0, limiter.tryAcquire(1));
+        assertTrue(limiter.tryAcquire(1) > 0);
+    }
+
+    @Test
+    @DisplayName("돌려준 토큰은 다시 쓸 수 있다")
+    public void release() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire(1);
+        }
+        assertTrue(limiter.tryAcquire(1) > 0);
+
+        limiter.release(1);
+        assertEquals(0, limiter.tryAcquire(1));
+        assertTrue(limiter.tryAcquire(1) > 0);
+    }
+
+    @Test
+    @DisplayName("키마다 따로 제한한다")
+    public void perKey() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a");
+        }
+        assertTrue(limiter.tryAcquire("a") > 0);
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    @DisplayName("오래 요청이 없어도 capacity 보다 많이 쌓이지 않는다")
+    public void capacity() {
+        now.addAndGet(TimeUnit.HOURS.toNanos(1));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire(1));
+        }
+        assertTrue(limiter.tryAcquire(1) > 0);
+    }
+
+    @Test
+    @DisplayName("동시에 요청해도 capacity 만큼만 허용한다")
+    public void concurrent() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(new AppProperties.Limit(100, 0.001), now::get);
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> {
+                if (limiter.tryAcquire(1) == 0) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(100, allowed.get());
+    }
+}
@@ -0,0 +1,144 @@
+package org.kuroneko.inflearnrestapi.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    ToggleDataSource replica1;
+    ToggleDataSource replica2;
+    ReplicaRoutingDataSource routing;
+    JdbcTemplate jdbcTemplate;
+    TransactionTemplate readOnly;
+    TransactionTemplate readWrite;
+
+    @BeforeEach
+    public void setUp() {
+        DataSource primary = database("primary");
+        replica1 = new ToggleDataSource(database("replica1"));
+        replica2 = new ToggleDataSource(database("replica2"));
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2));
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        routing.close();
+        ReplicaRoutingDataSource.restore(false);
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 replica를 돌아가며 쓰고 나머지는 primary를 쓴다")
+    public void routeReadOnly() {
+        assertEquals("replica1", readOnly.execute(s -> name()));
+        assertEquals("replica2", readOnly.execute(s -> name()));
+        assertEquals("replica1", readOnly.execute(s -> name()));
+
+        assertEquals("primary", readWrite.execute(s -> name()));
+        assertEquals("primary", name());
+    }
+
+    @Test
+    @DisplayName("primary로 표시한 스레드는 읽기 전용이어도 primary를 쓴다")
+    public void primaryOnly() {
+        boolean previous = ReplicaRoutingDataSource.usePrimary(true);
+        try {
+            assertEquals("primary", readOnly.execute(s -> name()));
+        } finally {
+            ReplicaRoutingDataSource.restore(previous);
+        }
+        assertEquals("replica1", readOnly.execute(s -> name()));
+    }
+
+    @Test
+    @DisplayName("연결에 실패한 replica는 health check가 down으로 정하고 살아날 때까지 건너뛴다")
+    public void skipUnhealthyReplica() {
+        replica1.down = true;
+        assertEquals("replica2", readOnly.execute(s -> name()));
+        routing.checkHealth();
+        assertEquals(1, routing.healthyReplicas());
+        assertEquals("replica2", readOnly.execute(s -> name()));
+        assertEquals("replica2", readOnly.execute(s -> name()));
+
+        replica2.down = true;
+        routing.checkHealth();
+        assertEquals(0, routing.healthyReplicas());
+        assertEquals("primary", readOnly.execute(s -> name()));
+
+        replica1.down = false;
+        replica2.down = false;
+        routing.checkHealth();
+        assertEquals(2, routing.healthyReplicas());
+        String first = readOnly.execute(s -> name());
+        String second = readOnly.execute(s -> name());
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("풀에서 커넥션을 기다리다 timeout 된 replica는 이번 커넥션만 다른 곳에서 얻고 down으로 보지 않는다")
+    public void keepBusyReplica() {
+        replica1.busy = true;
+        assertEquals("replica2", readOnly.execute(s -> name()));
+        assertEquals("replica2", readOnly.execute(s -> name()));
+        routing.checkHealth();
+        assertEquals(2, routing.healthyReplicas());
+
+        replica1.busy = false;
+        assertEquals("replica1", readOnly.execute(s -> name()));
+    }
+
+    private String name() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("DROP TABLE IF EXISTS node");
+        template.execute("CREATE TABLE node (name VARCHAR(20))");
+        template.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+
+    static class ToggleDataSource extends DelegatingDataSource {
+        volatile boolean down;
+        volatile boolean busy;
+
+        ToggleDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLTransientConnectionException("replica - Connection is not available, request timed out", "08001");
+            }
+            if (busy) {
+                throw new SQLTransientConnectionException("replica - Connection is not available, request timed out");
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package org.kuroneko.inflearnrestapi.enrollments;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kuroneko.inflearnrestapi.RestDocsConfiguration;
+import org.kuroneko.inflearnrestapi.account.Account;
+import org.kuroneko.inflearnrestapi.account.AccountRepository;
+import org.kuroneko.inflearnrestapi.account.AccountRole;
+import org.kuroneko.inflearnrestapi.account.AccountService;
+import org.kuroneko.inflearnrestapi.commons.AppProperties;
+import org.kuroneko.inflearnrestapi.events.Event;
+import org.kuroneko.inflearnrestapi.events.EventRepository;
+import org.kuroneko.inflearnrestapi.events.EventStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.restdocs.AutoConfigureRestDocs;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.relaxedResponseFields;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureRestDocs
+@Import(RestDocsConfiguration.class)
+@ActiveProfiles("test")
+public class EnrollmentControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    EventRepository eventRepository;
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+    @Autowired
+    EventSeatsRepository eventSeatsRepository;
+    @Autowired
+    AccountService accountService;
+    @Autowired
+    AccountRepository accountRepository;
+    @Autowired
+    AppProperties appProperties;
+
+    @BeforeEach
+    public void setUp() {
+        cleanUp();
+    }
+
+    //다른 테스트에서 Event, Account를 지울 수 있도록 신청 내역을 남기지 않는다.
+    @AfterEach
+    public void cleanUp() {
+        this.enrollmentRepository.deleteAll();
+        this.eventSeatsRepository.deleteAll();
+        this.eventRepository.deleteAll();
+        this.accountRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("이벤트 참가 신청")
+    public void enroll() throws Exception {
+        //Given
+        Account manager = createAccount();
+        Event event = generateEvent(manager, 10);
+
+        //When & Then
+        this.mockMvc.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, getBearer()))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andExpect(jsonPath("id").exists())
+                .andExpect(jsonPath("account.id").value(manager.getId()))
+                .andExpect(jsonPath("enrolledAt").exists())
+                .andDo(document("create-enrollment",
+                        links(
+                                linkWithRel("event").description("신청한 이벤트"),
+                                linkWithRel("cancel-enrollment").description("DELETE 요청으로 신청을 취소하는 링크"),
+                                linkWithRel("profile").description("해당 api에 대한 정보를 얻을 수 있는 링크")
+                        ),
+                        relaxedResponseFields(
+                                fieldWithPath("id").description("신청 id"),
+                                fieldWithPath("account.id").description("신청한 계정 id"),
+                                fieldWithPath("enrolledAt").description("신청 시각")
+                        )
+                ));
+
+        assertEquals(1, this.eventSeatsRepository.findById(event.getId()).orElseThrow().getEnrolled());
+    }
+
+    @Test
+    @DisplayName("같은 이벤트에 두번 신청하거나 자리가 없으면 409응답")
+    public void enroll_Conflict() throws Exception {
+        //Given
+        Account manager = createAccount();
+        Event event = generateEvent(manager, 1);
+        String bearer = getBearer();
+        this.mockMvc.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isCreated());
+
+        //When & Then
+        this.mockMvc.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("errors[0].code").value("alreadyEnrolled"));
+
+        Event full = generateEvent(manager, 1);
+        this.enrollmentRepository.save(Enrollment.builder()
+                .event(full)
+                .account(this.accountRepository.save(Account.builder().email("other@email.com").password("pass").build()))
+                .enrolledAt(LocalDateTime.now())
+                .build());
+        this.eventSeatsRepository.save(new EventSeats(full.getId(), 1));
+        this.mockMvc.perform(post("/api/events/{eventId}/enrollments", full.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("errors[0].code").value("soldOut"));
+    }
+
+    @Test
+    @DisplayName("참가 신청 취소")
+    public void cancel() throws Exception {
+        //Given
+        Account manager = createAccount();
+        Event event = generateEvent(manager, 1);
+        String bearer = getBearer();
+        this.mockMvc.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isCreated());
+
+        //When
+        this.mockMvc.perform(delete("/api/events/{eventId}/enrollments", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andDo(print())
+                .andExpect(status().isNoContent())
+                .andDo(document("cancel-enrollment"));
+
+        //Then
+        assertEquals(0, this.eventSeatsRepository.findById(event.getId()).orElseThrow().getEnrolled());
+        this.mockMvc.perform(delete("/api/events/{eventId}/enrollments", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isNotFound());
+        //취소한 자리로 다시 신청할 수 있다.
+        this.mockMvc.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("이벤트 manager의 신청 목록 조회")
+    public void queryEnrollments() throws Exception {
+        //Given
+        Account manager = createAccount();
+        Event event = generateEvent(manager, 0);
+        String bearer = getBearer();
+        this.mockMvc.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isCreated());
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events/{eventId}/enrollments", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.enrollmentList[0].account.id").value(manager.getId()))
+                .andExpect(jsonPath("page.totalElements").value(1))
+                .andDo(document("query-enrollments",
+                        links(
+                                linkWithRel("self").description("link to self"),
+                                linkWithRel("event").description("신청 목록의 이벤트"),
+                                linkWithRel("profile").description("해당 api에 대한 정보를 얻을 수 있는 링크")
+                        )
+                ));
+
+        this.mockMvc.perform(get("/api/events/{eventId}/enrollments", event.getId()))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String getBearer() throws Exception {
+        ResultActions perform = this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic(appProperties.getClientId(), appProperties.getClientSecret()))
+                .param("grant_type", "password")
+                .param("username", appProperties.getUserUsername())
+                .param("password", appProperties.getUserPassword()));
+
+        String contentAsString = perform.andReturn().getResponse().getContentAsString();
+        Jackson2JsonParser jsonParser = new Jackson2JsonParser();
+        return "Bearer " + jsonParser.parseMap(contentAsString).get("access_token").toString();
+    }
+
+    private Account createAccount() {
+        Account account = Account.builder()
+                .email(appProperties.getUserUsername())
+                .password(appProperties.getUserPassword())
+                .roles(Set.of(AccountRole.ADMIN, AccountRole.USER))
+                .build();
+        return accountService.savePassword(account);
+    }
+
+    private Event generateEvent(Account manager, int limitOfEnrollment) {
+        return this.eventRepository.save(Event.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 7, 9, 16, 4))
+                .closeEnrollmentDateTime(LocalDateTime.of(2020, 7, 10, 16, 4))
+                .beginEventDateTime(LocalDateTime.of(2020, 7, 11, 16, 4))
+                .endEventDateTime(LocalDateTime.of(2020, 7, 12, 16, 4))
+                .limitOfEnrollment(limitOfEnrollment)
+                .eventStatus(EventStatus.PUBLISHED)
+                .manager(manager)
+                .build());
+    }
+}
@@ -0,0 +1,141 @@
+package org.kuroneko.inflearnrestapi.enrollments;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kuroneko.inflearnrestapi.account.Account;
+import org.kuroneko.inflearnrestapi.account.AccountRepository;
+import org.kuroneko.inflearnrestapi.events.Event;
+import org.kuroneko.inflearnrestapi.events.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ActiveProfiles("test")
+class EnrollmentServiceTest {
+
+    @Autowired
+    EnrollmentService enrollmentService;
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+    @Autowired
+    EventSeatsRepository eventSeatsRepository;
+    @Autowired
+    EventRepository eventRepository;
+    @Autowired
+    AccountRepository accountRepository;
+
+    @AfterEach
+    public void cleanUp() {
+        this.enrollmentRepository.deleteAll();
+        this.eventSeatsRepository.deleteAll();
+        this.eventRepository.deleteAll();
+        this.accountRepository.deleteAll();
+    }
+
+    @Test
+    public void enroll_Concurrently() throws Exception {
+        int limit = 5;
+        int attempts = 40;
+        Event event = this.eventRepository.save(Event.builder()
+                .name("Ticket Drop")
+                .description("limited seats")
+                .beginEventDateTime(LocalDateTime.of(2020, 7, 11, 16, 4))
+                .endEventDateTime(LocalDateTime.of(2020, 7, 12, 16, 4))
+                .limitOfEnrollment(limit)
+                .build());
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            accounts.add(this.accountRepository.save(Account.builder().email("user" + i + "@email.com").password("pass").build()));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (Account account : accounts) {
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    this.enrollmentService.enroll(event, account);
+                    return true;
+                } catch (EnrollmentRejectedException e) {
+                    assertEquals("soldOut", e.getCode());
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int enrolled = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                enrolled++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(limit, enrolled);
+        assertEquals(limit, this.enrollmentRepository.count());
+        assertEquals(limit, this.eventSeatsRepository.findById(event.getId()).orElseThrow().getEnrolled());
+    }
+
+    @Test
+    public void cancel_Concurrently() throws Exception {
+        Event event = this.eventRepository.save(Event.builder()
+                .name("Ticket Drop")
+                .description("limited seats")
+                .beginEventDateTime(LocalDateTime.of(2020, 7, 11, 16, 4))
+                .endEventDateTime(LocalDateTime.of(2020, 7, 12, 16, 4))
+                .limitOfEnrollment(2)
+                .build());
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            accounts.add(this.accountRepository.save(Account.builder().email("user" + i + "@email.com").password("pass").build()));
+        }
+        this.enrollmentService.enroll(event, accounts.get(0));
+        this.enrollmentService.enroll(event, accounts.get(1));
+
+        //같은 신청을 동시에 여러 번 취소해도 자리는 하나만 돌아온다.
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return this.enrollmentService.cancel(event, accounts.get(0));
+            }));
+        }
+        start.countDown();
+
+        int canceled = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                canceled++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, canceled);
+        assertEquals(1, this.eventSeatsRepository.findById(event.getId()).orElseThrow().getEnrolled());
+
+        this.enrollmentService.enroll(event, accounts.get(2));
+        EnrollmentRejectedException exception = assertThrows(EnrollmentRejectedException.class,
+                () -> this.enrollmentService.enroll(event, accounts.get(3)));
+        assertEquals("soldOut", exception.getCode());
+        assertEquals(2, this.enrollmentRepository.count());
+    }
+}
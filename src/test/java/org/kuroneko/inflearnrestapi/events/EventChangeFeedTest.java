@@ -0,0 +1,108 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventChangeFeedTest {
+
+    EventChangeFeed feed;
+    CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    public void setUp() {
+        feed = new EventChangeFeed();
+        ReflectionTestUtils.setField(feed, "bufferSize", 16);
+        ReflectionTestUtils.setField(feed, "writerThreads", 2);
+        ReflectionTestUtils.setField(feed, "sendTimeout", Duration.ofMillis(200));
+        feed.init();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        feed.shutdown();
+    }
+
+    @Test
+    @DisplayName("보내기가 막힌 구독자가 있어도 다른 구독자는 모든 변경을 받고, 밀린 구독자는 끊는다")
+    public void slowSubscriber() throws Exception {
+        SseEmitter stalled = stalledEmitter();
+        AtomicInteger received = new AtomicInteger();
+        SseEmitter healthy = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                received.incrementAndGet();
+            }
+        };
+        feed.subscribe(stalled, null);
+        feed.subscribe(healthy, null);
+
+        for (int i = 1; i <= 40; i++) {
+            feed.onEventChange(EventChange.updated(Event.builder().id(i).build()));
+            awaitUntil(i, received);
+        }
+
+        //밀리거나 막힌 구독자만 끊는다.
+        assertEquals(1, feed.subscriberCount());
+    }
+
+    @Test
+    @DisplayName("보내기가 막힌 구독자가 writer 수보다 많아도 다른 구독자는 변경을 받고, 막힌 구독자는 끊는다")
+    public void stalledSubscribersMoreThanWriters() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            feed.subscribe(stalledEmitter(), null);
+        }
+        AtomicInteger received = new AtomicInteger();
+        SseEmitter healthy = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                received.incrementAndGet();
+            }
+        };
+        feed.subscribe(healthy, null);
+
+        for (int i = 1; i <= 5; i++) {
+            feed.onEventChange(EventChange.updated(Event.builder().id(i).build()));
+        }
+
+        awaitUntil(5, received);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (feed.subscriberCount() > 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, feed.subscriberCount());
+    }
+
+    private SseEmitter stalledEmitter() {
+        return new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+
+    private void awaitUntil(int expected, AtomicInteger received) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (received.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(expected, received.get());
+    }
+}
@@ -1,18 +1,21 @@
 package org.kuroneko.inflearnrestapi.events;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.aggregator.ArgumentsAccessor;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.kuroneko.inflearnrestapi.RestDocsConfiguration;
 import org.kuroneko.inflearnrestapi.account.Account;
 import org.kuroneko.inflearnrestapi.account.AccountRepository;
 import org.kuroneko.inflearnrestapi.account.AccountRole;
 import org.kuroneko.inflearnrestapi.account.AccountService;
 import org.kuroneko.inflearnrestapi.commons.AppProperties;
-import org.modelmapper.ModelMapper;
+import org.kuroneko.inflearnrestapi.commons.IdempotencyKeys;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.restdocs.AutoConfigureRestDocs;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -27,13 +30,32 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.ResultActions;
 
+import javax.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.restdocs.headers.HeaderDocumentation.*;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
@@ -63,13 +85,25 @@ public class EventControllerTest {
     @Autowired
     EventRepository eventRepository;
     @Autowired
-    ModelMapper modelMapper;
+    EventMapper eventMapper;
     @Autowired
     AccountService accountService;
     @Autowired
     AccountRepository accountRepository;
     @Autowired
     AppProperties appProperties;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    EventStatistics eventStatistics;
+    @Autowired
+    EventSuggester eventSuggester;
+    @Autowired
+    EventChangeFeed eventChangeFeed;
+    @Autowired
+    EventLifecycleScheduler eventLifecycleScheduler;
 
     @BeforeEach
     public void setUp(){
@@ -167,6 +201,256 @@ public class EventControllerTest {
                 );
     }
 
+    @Test
+    @DisplayName("Prefer: respond-async 로 Event 생성하면 202 응답 후 나중에 저장")
+    public void createEvent_Async() throws Exception {
+        EventDTO eventDTO = this.eventMapper.toEventDTO(buildEvent());
+
+        String body = mockMvc.perform(post("/api/events/")
+                .header(HttpHeaders.AUTHORIZATION, getBearer())
+                .header(EventController.PREFER, "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(eventDTO)))
+                .andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(EventController.PREFERENCE_APPLIED, "respond-async"))
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andExpect(jsonPath("id").exists())
+                .andExpect(jsonPath("status").exists())
+                .andDo(document("create-event-async",
+                        links(
+                                linkWithRel("self").description("link to write-status"),
+                                linkWithRel("event").description("link to event, 저장되기 전에는 404"),
+                                linkWithRel("profile").description("link to profile")
+                        ),
+                        requestHeaders(
+                                headerWithName(EventController.PREFER).description("respond-async"),
+                                headerWithName(HttpHeaders.CONTENT_TYPE).description("contentType request header")
+                        ),
+                        responseHeaders(
+                                headerWithName(HttpHeaders.LOCATION).description("저장 상태 조회 URI"),
+                                headerWithName(EventController.PREFERENCE_APPLIED).description("respond-async")
+                        ),
+                        relaxedResponseFields(
+                                fieldWithPath("id").description("미리 할당된 이벤트 id"),
+                                fieldWithPath("status").description("PENDING, CREATED, FAILED")
+                        )
+                ))
+                .andReturn().getResponse().getContentAsString();
+        Integer id = JsonPath.read(body, "id");
+
+        //저장될 때까지 상태를 조회한다.
+        String status = null;
+        for (int i = 0; i < 50 && !EventWriteStatus.CREATED.name().equals(status); i++) {
+            Thread.sleep(100);
+            String statusBody = mockMvc.perform(get("/api/events/{id}/write-status", id))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            status = JsonPath.read(statusBody, "status");
+        }
+        assertEquals(EventWriteStatus.CREATED.name(), status);
+        performAsync(get("/api/events/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("id").value(id))
+                .andExpect(jsonPath("name").value(eventDTO.getName()));
+        mockMvc.perform(get("/api/events/{id}/write-status", id + 1))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("같은 Idempotency-Key로 다시 생성 요청하면 처음 응답을 그대로 응답")
+    public void createEvent_IdempotencyKey() throws Exception {
+        String bearer = getBearer();
+        EventDTO eventDTO = this.eventMapper.toEventDTO(buildEvent());
+
+        String first = mockMvc.perform(post("/api/events/")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .header(IdempotencyKeys.HEADER, "create-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(eventDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyKeys.REPLAYED_HEADER))
+                .andReturn().getResponse().getContentAsString();
+
+        String replayed = mockMvc.perform(post("/api/events/")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .header(IdempotencyKeys.HEADER, "create-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(eventDTO)))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyKeys.REPLAYED_HEADER, "true"))
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andDo(document("create-event-idempotent",
+                        requestHeaders(
+                                headerWithName(IdempotencyKeys.HEADER).description("클라이언트가 만든 요청 식별자"),
+                                headerWithName(HttpHeaders.CONTENT_TYPE).description("contentType request header")
+                        ),
+                        responseHeaders(
+                                headerWithName(HttpHeaders.LOCATION).description("처음 요청에서 만든 이벤트의 URI"),
+                                headerWithName(IdempotencyKeys.REPLAYED_HEADER).description("저장해둔 응답이면 true")
+                        )
+                ))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals((int) JsonPath.read(first, "id"), (int) JsonPath.read(replayed, "id"));
+        assertEquals(1, this.eventRepository.count());
+
+        //같은 키로 다른 이벤트를 요청하면 422
+        eventDTO.setName("다른 이벤트");
+        mockMvc.perform(post("/api/events/")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .header(IdempotencyKeys.HEADER, "create-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(eventDTO)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("errors[0].code").value("idempotencyKeyReused"));
+        assertEquals(1, this.eventRepository.count());
+    }
+
+    @Test
+    @DisplayName("같은 Idempotency-Key로 동시에 생성 요청하면 하나만 생성")
+    public void createEvent_IdempotencyKey_Concurrent() throws Exception {
+        String bearer = getBearer();
+        String content = objectMapper.writeValueAsString(this.eventMapper.toEventDTO(buildEvent()));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> responses = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                responses.add(executor.submit(() -> mockMvc.perform(post("/api/events/")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(IdempotencyKeys.HEADER, "create-concurrent")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content))
+                        .andExpect(status().isCreated())
+                        .andReturn().getResponse().getContentAsString()));
+            }
+            Set<Integer> ids = new HashSet<>();
+            for (Future<String> response : responses) {
+                ids.add(JsonPath.read(response.get(10, TimeUnit.SECONDS), "id"));
+            }
+            assertEquals(1, ids.size());
+            assertEquals(1, this.eventRepository.count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("여러 Event를 한번에 생성하고 잘못된 항목은 오류로 응답")
+    public void createEvents_Batch() throws Exception {
+        EventDTO valid = this.eventMapper.toEventDTO(buildEvent());
+        EventDTO wrongPrice = this.eventMapper.toEventDTO(buildEvent());
+        wrongPrice.setBasePrice(300);
+        EventDTO empty = EventDTO.builder().build();
+
+        mockMvc.perform(post("/api/events/batch")
+                .header(HttpHeaders.AUTHORIZATION, getBearer())
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaTypes.HAL_JSON)
+                .content(objectMapper.writeValueAsString(List.of(valid, wrongPrice, valid, empty))))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(2))
+                .andExpect(jsonPath("_embedded.eventList[0].id").exists())
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("errors.length()").value(2))
+                .andExpect(jsonPath("errors[0].index").value(1))
+                .andExpect(jsonPath("errors[0].errors[0].objectName").exists())
+                .andExpect(jsonPath("errors[1].index").value(3))
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("create-events-batch",
+                        links(
+                                linkWithRel("query-events").description("link to query-events"),
+                                linkWithRel("profile").description("link to profile")
+                        ),
+                        relaxedResponseFields(
+                                fieldWithPath("_embedded.eventList").description("생성된 이벤트 목록"),
+                                fieldWithPath("errors[].index").description("검증에 실패한 요청 항목의 순번, 0 부터 시작"),
+                                fieldWithPath("errors[].errors").description("해당 항목의 검증 오류")
+                        )
+                ));
+
+        assertEquals(2, this.eventRepository.count());
+    }
+
+    @Test
+    @DisplayName("NDJSON 파일로 Event 가져오기")
+    public void importEvents() throws Exception {
+        EventDTO valid = this.eventMapper.toEventDTO(buildEvent());
+        EventDTO wrongPrice = this.eventMapper.toEventDTO(buildEvent());
+        wrongPrice.setBasePrice(300);
+        String content = this.objectMapper.writeValueAsString(valid) + "\n"
+                + this.objectMapper.writeValueAsString(wrongPrice) + "\n"
+                + "\n"
+                + "{not json\n"
+                + this.objectMapper.writeValueAsString(valid) + "\n";
+
+        String body = mockMvc.perform(post("/api/events/import")
+                .header(HttpHeaders.AUTHORIZATION, getBearer())
+                .contentType(EventController.APPLICATION_NDJSON_VALUE)
+                .content(content))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(EventController.APPLICATION_NDJSON_VALUE))
+                .andDo(document("import-events"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(4, lines.length);
+        assertEquals(1, (int) JsonPath.read(lines[0], "line"));
+        assertEquals("CREATED", JsonPath.read(lines[0], "status"));
+        assertNotNull(JsonPath.read(lines[0], "id"));
+        assertEquals(2, (int) JsonPath.read(lines[1], "line"));
+        assertEquals("REJECTED", JsonPath.read(lines[1], "status"));
+        assertEquals("wrongPrices", JsonPath.read(lines[1], "errors[2].code"));
+        assertEquals(4, (int) JsonPath.read(lines[2], "line"));
+        assertEquals("unreadable", JsonPath.read(lines[2], "errors[0].code"));
+        assertEquals(5, (int) JsonPath.read(lines[3], "line"));
+        assertEquals("CREATED", JsonPath.read(lines[3], "status"));
+        assertEquals(2, this.eventRepository.count());
+    }
+
+    @Test
+    @DisplayName("CSV 파일로 Event 가져오기")
+    public void importEvents_Csv() throws Exception {
+        String content = "name,description,beginEnrollmentDateTime,closeEnrollmentDateTime,beginEventDateTime,endEventDateTime,location,basePrice,maxPrice,limitOfEnrollment\n"
+                + "Spring,\"REST API, with Spring\",2020-07-09T16:04:00,2020-07-10T16:04:00,2020-07-11T16:04:00,2020-07-12T16:04:00,강남역,100,200,100\n"
+                + ",no name,2020-07-09T16:04:00,2020-07-10T16:04:00,2020-07-11T16:04:00,2020-07-12T16:04:00,,,,\n";
+
+        String body = mockMvc.perform(post("/api/events/import")
+                .header(HttpHeaders.AUTHORIZATION, getBearer())
+                .contentType("text/csv;charset=UTF-8")
+                .content(content.getBytes(StandardCharsets.UTF_8)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("CREATED", JsonPath.read(lines[0], "status"));
+        assertEquals("REJECTED", JsonPath.read(lines[1], "status"));
+        assertEquals(3, (int) JsonPath.read(lines[1], "line"));
+
+        Event event = this.eventRepository.findById(JsonPath.read(lines[0], "id")).orElseThrow();
+        assertEquals("REST API, with Spring", event.getDescription());
+        assertEquals("강남역", event.getLocation());
+        assertEquals(200, event.getMaxPrice());
+        assertFalse(event.isFree());
+    }
+
+    @Test
+    @DisplayName("빈 배열로 여러 Event 생성시 badRequest")
+    public void createEvents_Batch_Empty() throws Exception {
+        mockMvc.perform(post("/api/events/batch")
+                .header(HttpHeaders.AUTHORIZATION, getBearer())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("wrongSize"));
+    }
+
     private String getBearer() throws Exception {
         return "Bearer " + getAccessToken(true);
     }
@@ -308,7 +592,7 @@ public class EventControllerTest {
         //Given
         IntStream.range(0, 30).forEach(this::generateEvent);
         //When
-        this.mockMvc.perform(get("/api/events")
+        this.performAsync(get("/api/events")
                 .param("page", "1")
                 .param("size", "10")
                 .param("sort", "name,DESC"))
@@ -370,7 +654,7 @@ public class EventControllerTest {
         IntStream.range(0, 30).forEach(this::generateEvent);
 
         //When
-        this.mockMvc.perform(get("/api/events")
+        this.performAsync(get("/api/events")
                 .header(HttpHeaders.AUTHORIZATION, getBearer())
                 .param("page", "1")
                 .param("size", "10")
@@ -426,6 +710,184 @@ public class EventControllerTest {
                 ));
     }
 
+    @Test
+    @DisplayName("30개의 이벤트를 커서로 10개씩 조회하기")
+    public void queryEventsByCursor() throws Exception {
+        //Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        //When
+        String firstPage = this.performAsync(get("/api/events")
+                .param("after", "")
+                .param("size", "10"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page").doesNotExist())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.prev").doesNotExist())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andReturn().getResponse().getContentAsString();
+        Integer lastId = JsonPath.read(firstPage, "_embedded.eventList[9].id");
+        String next = JsonPath.read(firstPage, "_links.next.href");
+
+        //Then
+        this.performAsync(get(next))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_embedded.eventList[0].id").value(greaterThan(lastId)))
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.prev").exists())
+                .andDo(document("query-events-cursor",
+                        requestParameters(
+                                parameterWithName("after").description("이 커서 이후의 이벤트를 조회, 비어있으면 처음부터 조회"),
+                                parameterWithName("size").description("한 페이지에서 요청할 최대 값")
+                        ),
+                        links(
+                                linkWithRel("self").description("현재 페이지"),
+                                linkWithRel("next").description("다음 페이지"),
+                                linkWithRel("prev").description("이전 페이지"),
+                                linkWithRel("profile").description("profile to link")
+                        )
+                ));
+    }
+
+    @Test
+    @DisplayName("잘못된 커서로 조회하면 badRequest")
+    public void queryEventsByCursor_Bad_Request() throws Exception {
+        this.performAsync(get("/api/events")
+                .param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("상태, 가격, 기간 조건으로 이벤트 목록 조회하기")
+    public void queryEventsWithCondition() throws Exception {
+        //Given
+        IntStream.range(0, 10).forEach(this::generateEvent);
+        IntStream.range(0, 5).forEach(i -> {
+            Event event = buildEvent();
+            event.setEventStatus(EventStatus.PUBLISHED);
+            event.setBeginEventDateTime(LocalDateTime.of(2020, 8, 1 + i, 10, 0));
+            event.setEndEventDateTime(LocalDateTime.of(2020, 8, 1 + i, 18, 0));
+            this.eventRepository.save(event);
+        });
+        //maxPrice가 0 이면 상한이 없는 이벤트이므로 maxPrice 조건에 걸리지 않는다.
+        Event uncapped = buildEvent();
+        uncapped.setEventStatus(EventStatus.PUBLISHED);
+        uncapped.setMaxPrice(0);
+        uncapped.setBeginEventDateTime(LocalDateTime.of(2020, 8, 3, 10, 0));
+        uncapped.setEndEventDateTime(LocalDateTime.of(2020, 8, 3, 18, 0));
+        this.eventRepository.save(uncapped);
+
+        //When
+        this.performAsync(get("/api/events")
+                .param("eventStatus", EventStatus.PUBLISHED.name())
+                .param("free", "false")
+                .param("offline", "true")
+                .param("maxPrice", "300")
+                .param("beginEventDateTime", "2020-08-02T00:00:00")
+                .param("endEventDateTime", "2020-08-04T23:59:59"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(3))
+                .andExpect(jsonPath("_embedded.eventList[0].eventStatus").value(EventStatus.PUBLISHED.name()))
+                .andExpect(jsonPath("_embedded.eventList[0].free").value(false))
+                .andExpect(jsonPath("_embedded.eventList[*].maxPrice", everyItem(is(200))))
+                .andDo(document("query-events-condition",
+                        requestParameters(
+                                parameterWithName("eventStatus").description("이벤트 상태"),
+                                parameterWithName("free").description("무료 이벤트 여부"),
+                                parameterWithName("offline").description("오프라인 이벤트 여부"),
+                                parameterWithName("maxPrice").description("maxPrice 상한(상한이 없는 이벤트는 제외), 같은 방식으로 basePrice 하한을 줄 수 있다"),
+                                parameterWithName("beginEventDateTime").description("이 시간 이후에 시작하는 이벤트"),
+                                parameterWithName("endEventDateTime").description("이 시간 이전에 끝나는 이벤트")
+                        )
+                ));
+    }
+
+    @Test
+    @DisplayName("maxPrice 조건은 무료 이벤트를 포함하고 상한이 없는 유료 이벤트만 제외")
+    public void queryEventsWithMaxPrice_Free() throws Exception {
+        //Given
+        Event free = buildEvent();
+        free.setBasePrice(0);
+        free.setMaxPrice(0);
+        free.setFree(true);
+        this.eventRepository.save(free);
+        Event capped = this.eventRepository.save(buildEvent());
+        Event uncapped = buildEvent();
+        uncapped.setMaxPrice(0);
+        this.eventRepository.save(uncapped);
+
+        //When & Then
+        this.performAsync(get("/api/events")
+                .param("maxPrice", "300"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(2))
+                .andExpect(jsonPath("_embedded.eventList[*].id", containsInAnyOrder(free.getId(), capped.getId())));
+
+        this.performAsync(get("/api/events")
+                .param("free", "true")
+                .param("maxPrice", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(1))
+                .andExpect(jsonPath("_embedded.eventList[0].id").value(free.getId()));
+    }
+
+    @Test
+    @DisplayName("이벤트 이름, 설명, 장소로 검색하기")
+    public void searchEvents() throws Exception {
+        //Given
+        String bearer = getBearer();
+        EventDTO spring = EventDTO.builder()
+                .name("Spring REST API")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 7, 9, 16, 4))
+                .closeEnrollmentDateTime(LocalDateTime.of(2020, 7, 10, 16, 4))
+                .beginEventDateTime(LocalDateTime.of(2020, 7, 11, 16, 4))
+                .endEventDateTime(LocalDateTime.of(2020, 7, 12, 16, 4))
+                .location("강남역 D2 스타텁 팩토리")
+                .build();
+        EventDTO jpa = EventDTO.builder()
+                .name("JPA 스터디")
+                .description("ORM 표준")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 7, 9, 16, 4))
+                .closeEnrollmentDateTime(LocalDateTime.of(2020, 7, 10, 16, 4))
+                .beginEventDateTime(LocalDateTime.of(2020, 7, 11, 16, 4))
+                .endEventDateTime(LocalDateTime.of(2020, 7, 12, 16, 4))
+                .location("판교")
+                .build();
+        for (EventDTO eventDTO : List.of(spring, jpa)) {
+            this.mockMvc.perform(post("/api/events")
+                    .header(HttpHeaders.AUTHORIZATION, bearer)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(this.objectMapper.writeValueAsString(eventDTO)))
+                    .andExpect(status().isCreated());
+        }
+
+        //When
+        this.performAsync(get("/api/events/search")
+                .param("q", "spr 강남"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(1))
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("Spring REST API"))
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("search-events",
+                        requestParameters(
+                                parameterWithName("q").description("검색어, 각 단어는 이름, 설명, 장소의 단어 또는 접두어와 일치해야 한다")
+                        ),
+                        links(
+                                linkWithRel("self").description("현재 검색 결과"),
+                                linkWithRel("profile").description("profile to link")
+                        )
+                ));
+    }
+
     @Test
     @DisplayName("이벤트 한개 조회")
     public void queryEvent() throws Exception{
@@ -434,7 +896,7 @@ public class EventControllerTest {
         Event event = this.generateEvent(100, account);
 
         //When
-        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+        this.performAsync(get("/api/events/{id}", event.getId()))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("name").exists())
@@ -444,11 +906,374 @@ public class EventControllerTest {
                 .andDo(document("get-an-event"));
     }
 
+    @Test
+    @DisplayName("이벤트 통계 조회")
+    public void queryEventStats() throws Exception {
+        //Given
+        this.eventStatistics.rebuild();
+        String bearer = getBearer();
+        EventDTO paid = this.eventMapper.toEventDTO(buildEvent());
+        EventDTO free = this.eventMapper.toEventDTO(buildEvent());
+        free.setBasePrice(0);
+        free.setMaxPrice(0);
+        free.setLocation(null);
+        List<Integer> ids = new ArrayList<>();
+        for (EventDTO eventDTO : List.of(paid, paid, free)) {
+            String body = this.mockMvc.perform(post("/api/events")
+                    .header(HttpHeaders.AUTHORIZATION, bearer)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(this.objectMapper.writeValueAsString(eventDTO)))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            ids.add(JsonPath.read(body, "id"));
+        }
+        //수정하면 이전 값은 빠지고 새 값으로 집계된다.
+        this.mockMvc.perform(patch("/api/events/{id}", ids.get(0))
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(EventMergePatch.APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .content("{\"basePrice\": 20000, \"maxPrice\": 30000}"))
+                .andExpect(status().isOk());
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events/stats"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("total").value(3))
+                .andExpect(jsonPath("byStatus.DRAFT").value(3))
+                .andExpect(jsonPath("byStatus.ENDED").value(0))
+                .andExpect(jsonPath("free").value(1))
+                .andExpect(jsonPath("paid").value(2))
+                .andExpect(jsonPath("offline").value(2))
+                .andExpect(jsonPath("online").value(1))
+                .andExpect(jsonPath("byPriceRange.0").value(1))
+                .andExpect(jsonPath("byPriceRange.1-9999").value(1))
+                .andExpect(jsonPath("byPriceRange.10000-49999").value(1))
+                .andExpect(jsonPath("byPriceRange.50000-").value(0))
+                .andDo(document("query-event-stats",
+                        links(
+                                linkWithRel("self").description("link to self"),
+                                linkWithRel("query-events").description("link to query-events"),
+                                linkWithRel("profile").description("link to profile")
+                        ),
+                        relaxedResponseFields(
+                                fieldWithPath("total").description("전체 이벤트 수"),
+                                fieldWithPath("byStatus").description("eventStatus 별 이벤트 수"),
+                                fieldWithPath("free").description("무료 이벤트 수"),
+                                fieldWithPath("paid").description("유료 이벤트 수"),
+                                fieldWithPath("offline").description("오프라인 이벤트 수"),
+                                fieldWithPath("online").description("온라인 이벤트 수"),
+                                fieldWithPath("byPriceRange").description("basePrice 구간별 이벤트 수")
+                        )
+                ));
+    }
+
+    @Test
+    @DisplayName("이름, 장소 자동완성")
+    public void suggestEvents() throws Exception {
+        //Given
+        Event event = buildEvent();
+        event.setName("Spring REST API");
+        this.eventRepository.save(event);
+        IntStream.range(0, 2).forEach(this::generateEvent);
+        this.eventSuggester.rebuild();
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events/suggest")
+                .param("prefix", "한글")
+                .param("size", "5"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("names[0].text").value("한글테스트"))
+                .andExpect(jsonPath("names[0].count").value(2))
+                .andExpect(jsonPath("names.length()").value(1))
+                .andExpect(jsonPath("locations").isEmpty())
+                .andDo(document("suggest-events",
+                        links(
+                                linkWithRel("self").description("link to self"),
+                                linkWithRel("profile").description("link to profile")
+                        ),
+                        requestParameters(
+                                parameterWithName("prefix").description("찾을 접두어, 대소문자를 구분하지 않는다"),
+                                parameterWithName("size").description("항목별 최대 개수, 기본 10 최대 10")
+                        ),
+                        relaxedResponseFields(
+                                fieldWithPath("names[].text").description("이벤트 이름"),
+                                fieldWithPath("names[].count").description("이 이름을 쓰는 이벤트 수"),
+                                fieldWithPath("locations").description("접두어로 시작하는 장소 목록, 형식은 names 와 같다")
+                        )
+                ));
+    }
+
+    @Test
+    @DisplayName("Last-Event-ID 이후의 이벤트 변경을 SSE로 받기")
+    public void streamChanges() throws Exception {
+        //Given
+        long lastEventId = this.eventChangeFeed.latestSequence();
+        Account account = this.createAccount();
+        Event event = this.generateEvent(100, account);
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, getBearer(false))
+                .contentType(EventMergePatch.APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .content("{\"limitOfEnrollment\": 50}"))
+                .andExpect(status().isOk());
+
+        //When
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/events/changes")
+                .header(EventController.LAST_EVENT_ID, this.eventChangeFeed.eventId(lastEventId))
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andDo(document("stream-event-changes",
+                        requestHeaders(
+                                headerWithName(EventController.LAST_EVENT_ID).description("마지막으로 받은 알림의 id, 없으면 지금부터 받는다").optional()
+                        )
+                ))
+                .andReturn();
+
+        //Then
+        String content = awaitContent(mvcResult, "event:UPDATED");
+        assertTrue(content.contains("id:" + this.eventChangeFeed.eventId(lastEventId + 1) + "\nevent:UPDATED\n"));
+        assertTrue(content.contains("\"id\":" + event.getId()));
+        mvcResult.getRequest().getAsyncContext().complete();
+    }
+
+    @Test
+    @DisplayName("재시작 전에 받은 Last-Event-ID로 구독하면 순번이 남아있어도 RESET을 먼저 받기")
+    public void streamChanges_Reset() throws Exception {
+        String lastEventId = "previous-" + this.eventChangeFeed.latestSequence();
+
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/events/changes")
+                .header(EventController.LAST_EVENT_ID, lastEventId)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String content = awaitContent(mvcResult, "event:" + EventChangeFeed.RESET);
+        assertTrue(content.startsWith("id:" + this.eventChangeFeed.eventId(this.eventChangeFeed.latestSequence())));
+        mvcResult.getRequest().getAsyncContext().complete();
+    }
+
+    //조회는 DB executor에서 실행되므로 비동기 결과를 dispatch 해서 확인한다.
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = this.mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return this.mockMvc.perform(asyncDispatch(mvcResult));
+    }
+
+    //SSE는 다른 스레드에서 보내므로 기대한 내용이 올 때까지 기다린다.
+    private String awaitContent(MvcResult mvcResult, String expected) throws Exception {
+        String content = "";
+        for (int i = 0; i < 50 && !content.contains(expected); i++) {
+            Thread.sleep(100);
+            content = mvcResult.getResponse().getContentAsString();
+        }
+        assertTrue(content.contains(expected), content);
+        return content;
+    }
+
+    @Test
+    @DisplayName("모든 이벤트를 NDJSON으로 내보내기")
+    public void exportEvents() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        IntStream.range(0, 3).forEach(i -> this.generateEvent(i, account));
+
+        //When
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/events/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //Then
+        String body = this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(EventController.APPLICATION_NDJSON_VALUE))
+                .andDo(document("export-events",
+                        responseHeaders(
+                                headerWithName(HttpHeaders.CONTENT_TYPE).description("application/x-ndjson")
+                        )
+                ))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        for (String line : lines) {
+            Event event = this.objectMapper.readValue(line, Event.class);
+            assertNotNull(event.getId());
+        }
+        assertEquals(account.getId(), JsonPath.read(lines[0], "manager.id"));
+    }
+
+    @Test
+    @DisplayName("ETag가 같으면 이벤트 조회시 304응답")
+    public void queryEvent_NotModified() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(100, account);
+        String eTag = this.performAsync(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //When & Then
+        this.performAsync(get("/api/events/{id}", event.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        event.setName("Updated Event");
+        this.eventRepository.save(event);
+
+        this.performAsync(get("/api/events/{id}", event.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("Updated Event"));
+    }
+
+    @Test
+    @DisplayName("다른 노드가 수정해서 2차 캐시가 오래된 이벤트도 DB의 내용과 ETag로 응답")
+    public void queryEvent_StaleCache() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(100, account);
+        String eTag = this.performAsync(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        //2차 캐시를 거치지 않고 수정해서 다른 노드의 수정을 흉내낸다.
+        this.jdbcTemplate.update("update event set name = ?, version = version + 1 where id = ?", "Updated Event", event.getId());
+        Long version = this.jdbcTemplate.queryForObject("select version from event where id = ?", Long.class, event.getId());
+
+        //When & Then
+        String newETag = this.performAsync(get("/api/events/{id}", event.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("Updated Event"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals(EventETags.of(new EventVersion(event.getId(), version, account.getId()), null), newETag);
+    }
+
+    @Test
+    @DisplayName("ETag가 같으면 이벤트 목록 조회시 304응답")
+    public void queryEvents_NotModified() throws Exception {
+        //Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+        String eTag = this.performAsync(get("/api/events")
+                .param("page", "1")
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //When & Then
+        this.performAsync(get("/api/events")
+                .param("page", "1")
+                .param("size", "10")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        this.generateEvent(31);
+
+        this.performAsync(get("/api/events")
+                .param("page", "1")
+                .param("size", "10")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(31));
+    }
+
+    @Test
+    @DisplayName("이벤트를 다시 조회하면 2차 캐시에서 읽는다")
+    public void queryEvent_SecondLevelCache() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(100, account);
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.performAsync(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk());
+        long hitCount = statistics.getSecondLevelCacheHitCount();
+
+        //When
+        this.performAsync(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk());
+
+        //Then
+        assertTrue(statistics.getSecondLevelCacheHitCount() > hitCount);
+        assertTrue(statistics.getDomainDataRegionStatistics("event").getHitCount() > 0);
+    }
+
+    @Test
+    @DisplayName("목록 조회의 이벤트는 엔티티를 직렬화한 것과 같은 JSON")
+    public void queryEvents_SameAsEntity() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        IntStream.range(0, 3).forEach(i -> this.generateEvent(i, account));
+        this.generateEvent(3);
+
+        //When
+        String body = this.performAsync(get("/api/events").param("sort", "id"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        //Then
+        List<Event> events = this.eventRepository.findAll(Sort.by("id"));
+        List<Map<String, Object>> items = JsonPath.read(body, "_embedded.eventList");
+        assertEquals(events.size(), items.size());
+        for (int i = 0; i < events.size(); i++) {
+            Map<String, Object> item = new LinkedHashMap<>(items.get(i));
+            assertNotNull(item.remove("_links"));
+            assertEquals(this.objectMapper.writeValueAsString(events.get(i)), this.objectMapper.writeValueAsString(item));
+        }
+    }
+
+    @Test
+    @DisplayName("목록, 상세 조회는 이벤트 수와 관계없이 정해진 수의 쿼리만 실행")
+    public void queryEvents_StatementCount() throws Exception {
+        //Given
+        for (int i = 0; i < 5; i++) {
+            Account manager = this.accountRepository.save(Account.builder()
+                    .email("manager" + i + "@email.com")
+                    .password("password")
+                    .roles(Set.of(AccountRole.ADMIN, AccountRole.USER))
+                    .build());
+            for (int j = 0; j < 4; j++) {
+                this.generateEvent(j, manager);
+            }
+        }
+        Event event = this.eventRepository.findAll().get(0);
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        //When & Then
+        //2차 캐시를 비워서 캐시 적중으로 N+1이 가려지지 않게 한다.
+        this.entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+        this.performAsync(get("/api/events").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(20));
+        //versions, count, summaries
+        assertEquals(3, statistics.getPrepareStatementCount());
+
+        this.entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+        this.performAsync(get("/api/events").param("after", "").param("size", "20"))
+                .andExpect(status().isOk());
+        //events + manager
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        this.entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+        this.performAsync(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk());
+        //version, event + manager
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
     @Test
     @DisplayName("없는 이벤트를 조회했을 경우 404응답")
     public void queryEvent_404error() throws Exception {
         //When
-        this.mockMvc.perform(get("/api/events/1937820"))
+        this.performAsync(get("/api/events/1937820"))
                 .andExpect(status().isNotFound());
     }
 
@@ -458,7 +1283,7 @@ public class EventControllerTest {
         //Given
         Account account = this.createAccount();
         Event event = this.generateEvent(100, account);
-        EventDTO eventDTO = this.modelMapper.map(event, EventDTO.class);
+        EventDTO eventDTO = this.eventMapper.toEventDTO(event);
         String updatedEvent = "Updated Event";
         eventDTO.setName(updatedEvent);
 
@@ -519,6 +1344,82 @@ public class EventControllerTest {
                     ));
     }
 
+    @Test
+    @DisplayName("If-Match가 현재 ETag와 같을 때만 이벤트 수정")
+    public void updateEvent_IfMatch() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(100, account);
+        String bearer = getBearer(false);
+        String eTag = this.performAsync(get("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        EventDTO eventDTO = this.eventMapper.toEventDTO(event);
+        eventDTO.setName("Updated Event");
+
+        //When
+        String newETag = this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(eventDTO)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, newETag);
+
+        //Then
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(EventMergePatch.APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .content("{\"limitOfEnrollment\": 10}"))
+                .andDo(print())
+                .andExpect(status().isPreconditionFailed());
+        assertEquals("Updated Event", this.eventRepository.findById(event.getId()).orElseThrow().getName());
+        assertEquals(100, this.eventRepository.findById(event.getId()).orElseThrow().getLimitOfEnrollment());
+    }
+
+    @Test
+    @DisplayName("다른 노드가 먼저 수정해서 2차 캐시가 오래된 이벤트도 최신 ETag로 수정")
+    public void updateEvent_StaleCache() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(100, account);
+        String bearer = getBearer(false);
+        this.performAsync(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk());
+        //2차 캐시를 거치지 않고 수정해서 다른 노드의 수정을 흉내낸다.
+        this.jdbcTemplate.update("update event set version = version + 1 where id = ?", event.getId());
+        String eTag = this.performAsync(get("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        EventDTO eventDTO = this.eventMapper.toEventDTO(event);
+        eventDTO.setName("Updated Event");
+
+        //When & Then
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(eventDTO)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("Updated Event"));
+
+        this.jdbcTemplate.update("update event set version = version + 1 where id = ?", event.getId());
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(EventMergePatch.APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .content("{\"limitOfEnrollment\": 50}"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("limitOfEnrollment").value(50));
+    }
+
     @Test
     @DisplayName("입력값이 비어있는 경우 이벤트 수정 실패")
     public void updateEvent_input_empty_error() throws Exception{
@@ -540,7 +1441,7 @@ public class EventControllerTest {
     public void updateEvent_input_error() throws Exception{
         //Given
         Event event = this.generateEvent(100);
-        EventDTO eventDTO = this.modelMapper.map(event, EventDTO.class);
+        EventDTO eventDTO = this.eventMapper.toEventDTO(event);
         eventDTO.setBasePrice(20000);
         eventDTO.setMaxPrice(2000);
 
@@ -558,7 +1459,7 @@ public class EventControllerTest {
     public void updateEvent_notFound() throws Exception{
         //Given
         Event event = this.generateEvent(100);
-        EventDTO eventDTO = this.modelMapper.map(event, EventDTO.class);
+        EventDTO eventDTO = this.eventMapper.toEventDTO(event);
 
         //When
         this.mockMvc.perform(put("/api/events/32180321")
@@ -569,6 +1470,147 @@ public class EventControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("Merge Patch로 이벤트 일부 수정")
+    public void patchEvent() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(100, account);
+
+        //When
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, getBearer(false))
+                .contentType(EventMergePatch.APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .content("{\"limitOfEnrollment\": 50, \"location\": null}"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("limitOfEnrollment").value(50))
+                .andExpect(jsonPath("location").isEmpty())
+                .andExpect(jsonPath("offline").value(false))
+                .andExpect(jsonPath("name").value(event.getName()))
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("patch-event",
+                        links(
+                                linkWithRel("self").description("자신의 링크"),
+                                linkWithRel("profile").description("해당 api에 대한 정보를 얻을 수 있는 링크")
+                        ),
+                        requestHeaders(
+                                headerWithName(HttpHeaders.CONTENT_TYPE).description("application/merge-patch+json")
+                        )
+                ));
+
+        Event patched = this.eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(50, patched.getLimitOfEnrollment());
+        assertNull(patched.getLocation());
+        assertEquals(event.getDescription(), patched.getDescription());
+        assertEquals(event.getMaxPrice(), patched.getMaxPrice());
+    }
+
+    @Test
+    @DisplayName("Merge Patch의 값이 잘못된 경우 이벤트 수정 실패")
+    public void patchEvent_Bad_Request() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(100, account);
+        String bearer = getBearer(false);
+
+        //When & Then
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(EventMergePatch.APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .content("{\"basePrice\": 100000}"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].field").value("basePrice"));
+
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(EventMergePatch.APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .content("{\"name\": \"\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].field").value("name"));
+
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(EventMergePatch.APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .content("{\"manager\": {\"id\": 1}}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("unknownField"));
+
+        Event notPatched = this.eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(event.getBasePrice(), notPatched.getBasePrice());
+        assertEquals(event.getName(), notPatched.getName());
+    }
+
+    @Test
+    @DisplayName("API로 만든 이벤트를 공개하면 날짜에 따라 상태가 바뀐다")
+    public void publishEvent() throws Exception {
+        //Given
+        LocalDateTime beginEnrollment = LocalDateTime.of(2030, 7, 9, 16, 0);
+        EventDTO eventDTO = EventDTO.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(beginEnrollment)
+                .closeEnrollmentDateTime(beginEnrollment.plusDays(1))
+                .beginEventDateTime(beginEnrollment.plusDays(2))
+                .endEventDateTime(beginEnrollment.plusDays(3))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .build();
+        String bearer = getBearer();
+        MvcResult created = this.mockMvc.perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(eventDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("eventStatus").value(EventStatus.DRAFT.name()))
+                .andReturn();
+        Integer id = JsonPath.read(created.getResponse().getContentAsString(), "$.id");
+
+        //다른 테스트에서 예약된 전이를 비운다.
+        this.eventLifecycleScheduler.advance(LocalDateTime.MAX);
+        this.eventLifecycleScheduler.load(beginEnrollment.plusYears(1));
+
+        //DRAFT는 날짜가 지나도 그대로다.
+        assertEquals(0, this.eventLifecycleScheduler.advance(beginEnrollment));
+        this.performAsync(get("/api/events/{id}", id)
+                .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(jsonPath("eventStatus").value(EventStatus.DRAFT.name()))
+                .andExpect(jsonPath("_links.event-publish").exists());
+
+        //When
+        this.mockMvc.perform(post("/api/events/{id}/publish", id)
+                .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("eventStatus").value(EventStatus.PUBLISHED.name()))
+                .andDo(document("publish-event",
+                        links(
+                                linkWithRel("self").description("자신의 링크"),
+                                linkWithRel("profile").description("해당 api에 대한 정보를 얻을 수 있는 링크")
+                        )
+                ));
+
+        //Then
+        assertEquals(1, this.eventLifecycleScheduler.advance(beginEnrollment));
+        assertEquals(EventStatus.BEGAN_ENROLLMEND, this.eventRepository.findById(id).orElseThrow().getEventStatus());
+        assertEquals(1, this.eventLifecycleScheduler.advance(beginEnrollment.plusDays(3)));
+        this.performAsync(get("/api/events/{id}", id)
+                .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(jsonPath("eventStatus").value(EventStatus.ENDED.name()))
+                .andExpect(jsonPath("_links.event-publish").doesNotExist());
+
+        //이미 공개된 이벤트는 다시 공개할 수 없다.
+        this.mockMvc.perform(post("/api/events/{id}/publish", id)
+                .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("errors[0].code").value("notDraft"));
+    }
+
     private Event generateEvent(int index, Account account){
         Event event = buildEvent();
         event.setManager(account);
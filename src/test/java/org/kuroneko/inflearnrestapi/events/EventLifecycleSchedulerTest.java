@@ -0,0 +1,108 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ActiveProfiles("test")
+class EventLifecycleSchedulerTest {
+
+    @Autowired
+    EventLifecycleScheduler scheduler;
+    @Autowired
+    EventRepository eventRepository;
+
+    private final LocalDateTime beginEnrollment = LocalDateTime.of(2030, 7, 9, 16, 0);
+
+    @BeforeEach
+    public void setUp() {
+        this.eventRepository.deleteAll();
+        //다른 테스트에서 예약된 전이를 비운다.
+        this.scheduler.advance(LocalDateTime.MAX);
+        this.scheduler.load(this.beginEnrollment.plusYears(1));
+    }
+
+    @Test
+    public void advance() {
+        Event event = this.eventRepository.save(buildEvent());
+        Event other = this.eventRepository.save(buildEvent());
+        Event draft = buildEvent();
+        draft.setEventStatus(EventStatus.DRAFT);
+        draft = this.eventRepository.save(draft);
+        this.scheduler.load(this.beginEnrollment.plusYears(1));
+        assertEquals(2, this.scheduler.scheduled());
+
+        assertEquals(0, this.scheduler.advance(this.beginEnrollment.minusMinutes(1)));
+        assertEquals(EventStatus.PUBLISHED, this.eventRepository.findById(event.getId()).orElseThrow().getEventStatus());
+
+        assertEquals(2, this.scheduler.advance(this.beginEnrollment));
+        Event began = this.eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(EventStatus.BEGAN_ENROLLMEND, began.getEventStatus());
+        assertEquals(event.getVersion() + 1, began.getVersion());
+
+        //여러 단계가 지났으면 한번에 마지막 단계로 간다.
+        assertEquals(2, this.scheduler.advance(this.beginEnrollment.plusDays(2).plusHours(1)));
+        assertEquals(EventStatus.STARTED, this.eventRepository.findById(event.getId()).orElseThrow().getEventStatus());
+        assertEquals(EventStatus.STARTED, this.eventRepository.findById(other.getId()).orElseThrow().getEventStatus());
+
+        assertEquals(2, this.scheduler.advance(this.beginEnrollment.plusDays(3)));
+        assertEquals(EventStatus.ENDED, this.eventRepository.findById(event.getId()).orElseThrow().getEventStatus());
+        assertEquals(0, this.scheduler.advance(LocalDateTime.MAX));
+
+        //공개되지 않은 이벤트는 날짜가 지나도 그대로다.
+        assertEquals(EventStatus.DRAFT, this.eventRepository.findById(draft.getId()).orElseThrow().getEventStatus());
+    }
+
+    @Test
+    public void schedule_Updated() {
+        Event event = this.eventRepository.save(buildEvent());
+        this.scheduler.schedule(EventTimeline.of(event));
+
+        //일정이 바뀌면 이전 일정의 전이는 버린다.
+        event.setBeginEnrollmentDateTime(this.beginEnrollment.plusHours(12));
+        Event updated = this.eventRepository.save(event);
+        this.scheduler.onEventChange(EventChange.updated(updated));
+
+        assertEquals(0, this.scheduler.advance(this.beginEnrollment));
+        assertEquals(1, this.scheduler.advance(this.beginEnrollment.plusHours(12)));
+        assertEquals(EventStatus.BEGAN_ENROLLMEND, this.eventRepository.findById(event.getId()).orElseThrow().getEventStatus());
+    }
+
+    @Test
+    public void schedule_OneEntryPerEvent() {
+        Event event = this.eventRepository.save(buildEvent());
+        //수정이 많아도 이벤트마다 예약은 하나만 남는다.
+        for (int i = 1; i <= 100; i++) {
+            event.setBeginEnrollmentDateTime(this.beginEnrollment.plusMinutes(i));
+            this.scheduler.schedule(EventTimeline.of(event));
+        }
+        assertEquals(1, this.scheduler.scheduled());
+
+        //더 바뀔 상태가 없으면 예약을 지운다.
+        event.setEventStatus(EventStatus.DRAFT);
+        this.scheduler.schedule(EventTimeline.of(event));
+        assertEquals(0, this.scheduler.scheduled());
+    }
+
+    private Event buildEvent() {
+        return Event.builder()
+                .eventStatus(EventStatus.PUBLISHED)
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(this.beginEnrollment)
+                .closeEnrollmentDateTime(this.beginEnrollment.plusDays(1))
+                .beginEventDateTime(this.beginEnrollment.plusDays(2))
+                .endEventDateTime(this.beginEnrollment.plusDays(3))
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.NameTokenizers;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/*
+    EventDTO -> Event 매핑 한번에 드는 비용 비교
+    이전에 사용하던 ModelMapper(AppConfig 설정 그대로)와 생성된 EventMapperImpl
+    실행: test-compile 후 main 실행 (-prof gc 를 주면 호출당 할당량도 볼 수 있다)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventMapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private EventMapper eventMapper;
+    private EventDTO eventDTO;
+    private Event event;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setDestinationNameTokenizer(NameTokenizers.UNDERSCORE)
+                .setSourceNameTokenizer(NameTokenizers.UNDERSCORE);
+        eventMapper = new EventMapperImpl();
+        eventDTO = EventDTO.builder()
+                .name("한글테스트")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 7, 9, 16, 4))
+                .closeEnrollmentDateTime(LocalDateTime.of(2020, 7, 10, 16, 4))
+                .beginEventDateTime(LocalDateTime.of(2020, 7, 11, 16, 4))
+                .endEventDateTime(LocalDateTime.of(2020, 7, 12, 16, 4))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .build();
+        event = new Event();
+    }
+
+    @Benchmark
+    public Event modelMapperCreate() {
+        return modelMapper.map(eventDTO, Event.class);
+    }
+
+    @Benchmark
+    public Event eventMapperCreate() {
+        return eventMapper.toEvent(eventDTO);
+    }
+
+    @Benchmark
+    public Event modelMapperUpdate() {
+        modelMapper.map(eventDTO, event);
+        return event;
+    }
+
+    @Benchmark
+    public Event eventMapperUpdate() {
+        eventMapper.updateEvent(eventDTO, event);
+        return event;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(EventMapperBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,109 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventSearchIndexTest {
+
+    EventSearchIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new EventSearchIndex();
+        index.index(event(1, "Spring REST API", "REST API 학습", "강남역 D2 스타텁 팩토리"));
+        index.index(event(2, "Spring Boot", "스프링 부트와 REST", null));
+        index.index(event(3, "JPA 스터디", "ORM 표준", "판교"));
+    }
+
+    @Test
+    @DisplayName("이름에 일치하는 이벤트가 설명에만 일치하는 이벤트보다 먼저 나온다")
+    public void rankByField() {
+        assertThat(index.search("rest", 10)).containsExactly(1, 2);
+    }
+
+    @Test
+    @DisplayName("접두어로 검색하고 모든 토큰이 일치해야 한다")
+    public void prefixAndAllTokens() {
+        assertThat(index.search("spr boo", 10)).containsExactly(2);
+        assertThat(index.search("스타", 10)).containsExactly(1);
+        assertThat(index.search("spring 판교", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("이벤트가 수정되면 이전 토큰은 색인에서 빠진다")
+    public void reindex() {
+        index.index(event(3, "Kotlin 스터디", "ORM 표준", "판교"));
+
+        assertThat(index.search("jpa", 10)).isEmpty();
+        assertThat(index.search("kotlin", 10)).containsExactly(3);
+    }
+
+    @Test
+    @DisplayName("rebuild 하면서 조회하는 동안 들어온 변경도 다시 만든 색인에 남는다")
+    public void rebuild_KeepChangesDuringQuery() {
+        EventRepository eventRepository = mock(EventRepository.class);
+        when(eventRepository.findAll()).thenAnswer(invocation -> {
+            index.index(event(3, "Kotlin 스터디", "ORM 표준", "판교"));
+            return List.of(event(1, "Spring REST API", "REST API 학습", "강남역 D2 스타텁 팩토리"),
+                    event(3, "JPA 스터디", "ORM 표준", "판교"));
+        });
+        ReflectionTestUtils.setField(index, "eventRepository", eventRepository);
+
+        index.rebuild();
+
+        assertThat(index.search("kotlin", 10)).containsExactly(3);
+        assertThat(index.search("jpa", 10)).isEmpty();
+        assertThat(index.search("boot", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("늦게 도착한 이전 version의 변경은 반영하지 않는다")
+    public void index_IgnoreOlderVersion() {
+        index.index(event(3, "Kotlin 스터디", "ORM 표준", "판교", 2L));
+        index.index(event(3, "JPA 스터디", "ORM 표준", "판교", 1L));
+
+        assertThat(index.search("kotlin", 10)).containsExactly(3);
+        assertThat(index.search("jpa", 10)).isEmpty();
+
+        //rebuild 중에 모아둔 변경도 조회한 것보다 오래되었으면 버린다.
+        EventRepository eventRepository = mock(EventRepository.class);
+        when(eventRepository.findAll()).thenAnswer(invocation -> {
+            index.index(event(3, "JPA 스터디", "ORM 표준", "판교", 3L));
+            return List.of(event(3, "Kotlin 스터디", "ORM 표준", "판교", 4L));
+        });
+        ReflectionTestUtils.setField(index, "eventRepository", eventRepository);
+
+        index.rebuild();
+
+        assertThat(index.search("kotlin", 10)).containsExactly(3);
+        assertThat(index.search("jpa", 10)).isEmpty();
+    }
+
+    @Test
+    public void limit() {
+        List<Integer> result = index.search("spring", 1);
+        assertThat(result).hasSize(1);
+    }
+
+    private Event event(int id, String name, String description, String location) {
+        return event(id, name, description, location, null);
+    }
+
+    private Event event(int id, String name, String description, String location, Long version) {
+        return Event.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .location(location)
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventStatisticsTest {
+
+    @Test
+    @DisplayName("rebuild 하면서 집계하는 동안 들어온 변경도 새 집계에 남는다")
+    public void rebuild_KeepChangesDuringQuery() {
+        EventStatistics statistics = new EventStatistics();
+        EventRepository eventRepository = mock(EventRepository.class);
+        when(eventRepository.findStatsEntries()).thenAnswer(invocation -> {
+            statistics.onEventChange(EventChange.statusChanged(Event.builder()
+                    .id(2).eventStatus(EventStatus.STARTED).free(true).version(1L).build()));
+            return List.of(new EventStatsEntry(1, EventStatus.PUBLISHED, true, false, 0, 0L),
+                    new EventStatsEntry(2, EventStatus.PUBLISHED, true, false, 0, 0L));
+        });
+        ReflectionTestUtils.setField(statistics, "eventRepository", eventRepository);
+
+        statistics.rebuild();
+
+        EventStats stats = statistics.snapshot();
+        assertThat(stats.getTotal()).isEqualTo(2);
+        assertThat(stats.getByStatus().get(EventStatus.PUBLISHED)).isEqualTo(1);
+        assertThat(stats.getByStatus().get(EventStatus.STARTED)).isEqualTo(1);
+        assertThat(stats.getFree()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("늦게 도착한 이전 version의 변경은 집계에 반영하지 않는다")
+    public void onEventChange_IgnoreOlderVersion() {
+        EventStatistics statistics = new EventStatistics();
+        statistics.onEventChange(EventChange.statusChanged(Event.builder()
+                .id(1).eventStatus(EventStatus.STARTED).version(2L).build()));
+        statistics.onEventChange(EventChange.updated(Event.builder()
+                .id(1).eventStatus(EventStatus.PUBLISHED).version(1L).build()));
+
+        EventStats stats = statistics.snapshot();
+        assertThat(stats.getTotal()).isEqualTo(1);
+        assertThat(stats.getByStatus().get(EventStatus.STARTED)).isEqualTo(1);
+        assertThat(stats.getByStatus().get(EventStatus.PUBLISHED)).isEqualTo(0);
+    }
+}
@@ -0,0 +1,105 @@
+package org.kuroneko.inflearnrestapi.events;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventSuggesterTest {
+
+    EventSuggester suggester;
+
+    @BeforeEach
+    public void setUp() {
+        suggester = new EventSuggester();
+        suggester.index(event(1, "Spring REST API", "강남역 D2 스타텁 팩토리"));
+        suggester.index(event(2, "Spring Boot", "강남역 D2 스타텁 팩토리"));
+        suggester.index(event(3, "Spring Boot", "판교"));
+        suggester.index(event(4, "JPA 스터디", null));
+    }
+
+    @Test
+    @DisplayName("같은 값을 쓰는 이벤트가 많을수록 먼저 나온다")
+    public void rankByCount() {
+        assertThat(texts(suggester.suggestNames("spr", 10))).containsExactly("Spring Boot", "Spring REST API");
+        assertThat(suggester.suggestNames("spr", 10).get(0).getCount()).isEqualTo(2);
+        assertThat(texts(suggester.suggestLocations("강남", 10))).containsExactly("강남역 D2 스타텁 팩토리");
+    }
+
+    @Test
+    @DisplayName("대소문자와 앞뒤 공백을 무시한다")
+    public void normalize() {
+        assertThat(texts(suggester.suggestNames("  SPRING r", 10))).containsExactly("Spring REST API");
+        assertThat(texts(suggester.suggestNames("jpa", 10))).containsExactly("JPA 스터디");
+    }
+
+    @Test
+    @DisplayName("이벤트가 수정되면 이전 값은 빠진다")
+    public void reindex() {
+        suggester.index(event(1, "Kotlin 스터디", "판교"));
+        suggester.index(event(2, "Kotlin 스터디", "판교"));
+
+        assertThat(texts(suggester.suggestNames("spring", 10))).containsExactly("Spring Boot");
+        assertThat(suggester.suggestNames("spring", 10).get(0).getCount()).isEqualTo(1);
+        assertThat(suggester.suggestLocations("강남", 10)).isEmpty();
+        assertThat(suggester.suggestLocations("판", 10).get(0).getCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("rebuild 하면서 조회하는 동안 들어온 변경도 다시 만든 trie에 남는다")
+    public void rebuild_KeepChangesDuringQuery() {
+        EventRepository eventRepository = mock(EventRepository.class);
+        when(eventRepository.findSuggestEntries()).thenAnswer(invocation -> {
+            suggester.index(event(4, "Kotlin 스터디", "판교"));
+            return List.of(new EventSuggestEntry(1, "Spring REST API", "강남역 D2 스타텁 팩토리", null),
+                    new EventSuggestEntry(4, "JPA 스터디", null, null));
+        });
+        ReflectionTestUtils.setField(suggester, "eventRepository", eventRepository);
+
+        suggester.rebuild();
+
+        assertThat(texts(suggester.suggestNames("kot", 10))).containsExactly("Kotlin 스터디");
+        assertThat(suggester.suggestNames("jpa", 10)).isEmpty();
+        assertThat(texts(suggester.suggestNames("spring", 10))).containsExactly("Spring REST API");
+    }
+
+    @Test
+    @DisplayName("늦게 도착한 이전 version의 변경은 반영하지 않는다")
+    public void index_IgnoreOlderVersion() {
+        suggester.index(event(4, "Kotlin 스터디", "판교", 2L));
+        suggester.index(event(4, "JPA 스터디", null, 1L));
+
+        assertThat(texts(suggester.suggestNames("kot", 10))).containsExactly("Kotlin 스터디");
+        assertThat(suggester.suggestNames("jpa", 10)).isEmpty();
+    }
+
+    @Test
+    public void limit() {
+        assertThat(suggester.suggestNames("", 1)).hasSize(1);
+        assertThat(suggester.suggestNames("없는", 10)).isEmpty();
+    }
+
+    private List<String> texts(List<SuggestionTrie.Suggestion> suggestions) {
+        return suggestions.stream().map(SuggestionTrie.Suggestion::getText).collect(Collectors.toList());
+    }
+
+    private Event event(int id, String name, String location) {
+        return event(id, name, location, null);
+    }
+
+    private Event event(int id, String name, String location, Long version) {
+        return Event.builder()
+                .id(id)
+                .name(name)
+                .location(location)
+                .version(version)
+                .build();
+    }
+}